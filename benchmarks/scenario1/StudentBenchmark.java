@@ -0,0 +1,31 @@
+package scenario1;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating a Student and running a zero-sleep submission
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentBenchmark {
+
+    private int nextId;
+
+    @Benchmark
+    public Student createStudent() {
+        int id = ++nextId;
+        return new Student(id, Student.nameFor(id), 0);
+    }
+
+    @Benchmark
+    public boolean createAndSubmit() throws InterruptedException {
+        int id = ++nextId;
+        return new Student(id, Student.nameFor(id), 0).submitExam();
+    }
+}
@@ -0,0 +1,42 @@
+package scenario1;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording one result in SubmissionStats
+ *
+ * Run with several thread counts to see contention, e.g.
+ * java -jar target/benchmarks.jar SubmissionStatsBenchmark -t 1,4,16
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmissionStatsBenchmark {
+
+    private SubmissionStats stats;
+
+    @Setup(Level.Iteration)
+    public void createStats() {
+        stats = new SubmissionStats();
+    }
+
+    @Benchmark
+    public void recordSuccessCounterOnly() {
+        stats.recordSuccess();
+    }
+
+    @Benchmark
+    public void recordSuccessWithLatency() {
+        stats.recordSuccess(25_000L, 50_000_000L);
+    }
+
+    @Benchmark
+    public StatsSnapshot snapshot() {
+        return stats.snapshot();
+    }
+}
@@ -0,0 +1,54 @@
+package scenario1;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of NewSubmissionSystem
+ *
+ * Students use a zero-sleep submitExam() by default, so the score is
+ * the cost of the framework itself (window, executor hand-off, stats).
+ * Run: java -jar target/benchmarks.jar SubmissionSystemBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmissionSystemBenchmark {
+
+    @Param({"FIXED_POOL", "VIRTUAL_THREADS", "FORK_JOIN"})
+    public ExecutionMode mode;
+
+    @Param({"4", "16", "64"})
+    public int poolSize;
+
+    @Param({"1000", "10000"})
+    public int students;
+
+    // 0 = framework overhead only
+    @Param({"0"})
+    public int maxSubmitTimeMs;
+
+    private NewSubmissionSystem system;
+
+    @Setup(Level.Invocation)
+    public void createSystem() {
+        system = new NewSubmissionSystem(mode, poolSize, students);
+        system.setVerbose(false);
+        system.setMaxSubmitTimeMs(maxSubmitTimeMs);
+    }
+
+    @TearDown(Level.Invocation)
+    public void shutdownSystem() throws InterruptedException {
+        system.shutdown();
+    }
+
+    @Benchmark
+    public int processSubmissions() {
+        system.processSubmissions();
+        return system.getStats().getTotalSubmissions();
+    }
+}
@@ -0,0 +1,66 @@
+package scenario1;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-task hand-off overhead: empty tasks pushed through each executor
+ *
+ * Compares the current path (window + execute) with the original
+ * submit()-per-student path that created a Future for every task
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(TaskSubmissionBenchmark.TASKS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSubmissionBenchmark {
+    static final int TASKS = 10_000;
+
+    @Param({"FIXED_POOL", "VIRTUAL_THREADS", "FORK_JOIN"})
+    public ExecutionMode mode;
+
+    @Param({"4", "16", "64"})
+    public int poolSize;
+
+    private ExecutorService executor;
+    private SubmissionWindow window;
+
+    @Setup(Level.Trial)
+    public void createExecutor() {
+        executor = mode.createExecutor(poolSize);
+        window = new SubmissionWindow(NewSubmissionSystem.defaultWindowSize(mode, poolSize));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownExecutor() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void windowedExecute() throws InterruptedException {
+        Runnable task = window::release;
+        for (int i = 0; i < TASKS; i++) {
+            window.acquire();
+            executor.execute(task);
+        }
+        window.awaitIdle();
+    }
+
+    @Benchmark
+    public void unboundedSubmit() throws Exception {
+        Future<?>[] futures = new Future<?>[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            futures[i] = executor.submit(() -> { });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package scenario2;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer/consumer handoff throughput through one PatientQueue
+ *
+ * "arrive" threads play PatientArrival, "treat" threads play Consultant
+ * with zero treatment time and no logging, so only queue cost is measured.
+ * Set the mix with -tg PRODUCERS,CONSUMERS, e.g.
+ *   java -jar target/benchmarks.jar PatientHandoffBenchmark -tg 1,3
+ *
+ * Read the "taken" counter (patients handed to a consultant per ms);
+ * "full"/"empty" count timed-out attempts. Timed offer/poll (1 ms) keep an
+ * iteration from hanging when one side stops first. Unbounded backends
+ * stop producing (and yield) above QueueBackend.DEFAULT_CAPACITY waiting,
+ * like the bounded ones, so the backlog (and memory) stays flat
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Group)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientHandoffBenchmark {
+    static final int PATIENTS_PER_PRODUCER = QueueBackend.DEFAULT_CAPACITY * 2;
+
+    @Param({"LINKED", "ARRAY", "RING_BUFFER", "TRIAGE"})
+    public QueueBackend backend;
+
+    private PatientQueue queue;
+
+    @Setup(Level.Trial)
+    public void createQueue() {
+        queue = new PatientQueue(Specialty.CARDIOLOGIST, backend,
+                QueueBackend.DEFAULT_CAPACITY, PatientQueue.REAL_TIME_CLOCK);
+        queue.setRecordWaits(false);
+    }
+
+    /**
+     * FIFO backends: patients reused round-robin. The pool is larger than the
+     * backlog limit and FIFO hands them out in order, so a patient is never
+     * queued twice at once
+     *
+     * TRIAGE: a fresh patient per offer. A non-urgent patient can wait behind
+     * newer urgent ones for seconds, so a reused one could be re-stamped (its
+     * triage key changed) while still inside the heap. The numbers include
+     * that one small allocation
+     */
+    @State(Scope.Thread)
+    public static class Arrivals {
+        private static final LocalDateTime ARRIVAL_TIME = LocalDateTime.of(2025, 1, 6, 8, 0);
+        private static final Severity[] SEVERITIES = Severity.values();
+
+        private final Patient[] patients = new Patient[PATIENTS_PER_PRODUCER];
+        private boolean fresh;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void createPatients(PatientHandoffBenchmark benchmark) {
+            fresh = benchmark.backend == QueueBackend.TRIAGE;
+            for (int i = 0; i < patients.length; i++) {
+                patients[i] = newPatient(i);
+            }
+        }
+
+        Patient next() {
+            Patient patient = fresh ? newPatient(next) : patients[next];
+            next = (next + 1) % patients.length;
+            return patient;
+        }
+
+        private static Patient newPatient(int i) {
+            return new Patient(i + 1, Specialty.CARDIOLOGIST, SEVERITIES[i % SEVERITIES.length], ARRIVAL_TIME);
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ProducerCounters {
+        public long added;
+        public long full;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            added = 0;
+            full = 0;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ConsumerCounters {
+        public long taken;
+        public long empty;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            taken = 0;
+            empty = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public void arrive(Arrivals arrivals, ProducerCounters counters) throws InterruptedException {
+        if (!backend.isBounded() && queue.getSize() >= QueueBackend.DEFAULT_CAPACITY) {
+            // Give the consumers the CPU instead of spinning on the limit
+            counters.full++;
+            Thread.yield();
+            return;
+        }
+        if (queue.offerPatient(arrivals.next(), 1, TimeUnit.MILLISECONDS)) {
+            counters.added++;
+        } else {
+            counters.full++;
+        }
+    }
+
+    @Benchmark
+    @Group("handoff")
+    @GroupThreads(1)
+    public Patient treat(ConsumerCounters counters) throws InterruptedException {
+        Patient patient = queue.pollPatient(1, TimeUnit.MILLISECONDS);
+        if (patient != null) {
+            counters.taken++;
+        } else {
+            counters.empty++;
+        }
+        return patient;
+    }
+}
@@ -0,0 +1,118 @@
+package scenario2;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handoff latency: round trip of one patient through two PatientQueues
+ *
+ * Each benchmark thread (a producer, -t N) puts its patient on the shared
+ * queue; one of the echo threads (consumers, @Param) takes it and puts it
+ * on that producer's reply queue. One operation = two handoffs including
+ * the wake-up of a waiting consumer, so the park/spin strategy shows here
+ *
+ *   java -jar target/benchmarks.jar PatientHandoffLatencyBenchmark -t 4 -p consumers=2
+ *
+ * Timed offer/poll: a stalled echo fails the run instead of hanging it
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientHandoffLatencyBenchmark {
+    static final int MAX_PRODUCERS = 256;
+
+    @Param({"LINKED", "ARRAY", "RING_BUFFER", "TRIAGE"})
+    public QueueBackend backend;
+
+    @Param({"1", "4"})
+    public int consumers;
+
+    private PatientQueue requests;
+    private PatientQueue[] replies;
+    private Thread[] echoThreads;
+    private volatile boolean running;
+    private final AtomicInteger nextProducer = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void startEcho() {
+        requests = newQueue();
+        replies = new PatientQueue[MAX_PRODUCERS];
+        for (int i = 0; i < MAX_PRODUCERS; i++) {
+            replies[i] = newQueue();
+        }
+        running = true;
+        echoThreads = new Thread[consumers];
+        for (int i = 0; i < consumers; i++) {
+            echoThreads[i] = new Thread(this::echo, "echo-consultant-" + i);
+            echoThreads[i].setDaemon(true);
+            echoThreads[i].start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopEcho() throws InterruptedException {
+        running = false;
+        for (Thread thread : echoThreads) {
+            thread.join(1000);
+        }
+    }
+
+    private PatientQueue newQueue() {
+        PatientQueue queue = new PatientQueue(Specialty.SURGEON, backend,
+                QueueBackend.DEFAULT_CAPACITY, PatientQueue.REAL_TIME_CLOCK);
+        queue.setRecordWaits(false);
+        return queue;
+    }
+
+    /**
+     * Consultant loop with zero treatment time: take, hand straight back
+     */
+    private void echo() {
+        try {
+            while (running) {
+                Patient patient = requests.pollPatient(10, TimeUnit.MILLISECONDS);
+                if (patient != null) {
+                    replies[patient.getPatientId()].offerPatient(patient);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One patient per benchmark thread; its id selects the reply queue
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+        private Patient patient;
+        private PatientQueue reply;
+
+        @Setup(Level.Trial)
+        public void register(PatientHandoffLatencyBenchmark benchmark) {
+            int index = benchmark.nextProducer.getAndIncrement();
+            if (index >= MAX_PRODUCERS) {
+                throw new IllegalStateException("At most " + MAX_PRODUCERS + " benchmark threads");
+            }
+            patient = new Patient(index, Specialty.SURGEON, Severity.URGENT);
+            reply = benchmark.replies[index];
+        }
+    }
+
+    @Benchmark
+    public Patient roundTrip(Producer producer) throws InterruptedException {
+        if (!requests.offerPatient(producer.patient, 1, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Request queue full for 1 s");
+        }
+        Patient back = producer.reply.pollPatient(1, TimeUnit.SECONDS);
+        if (back == null) {
+            throw new IllegalStateException("No consultant answered within 1 s");
+        }
+        return back;
+    }
+}
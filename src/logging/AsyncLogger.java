@@ -0,0 +1,266 @@
+package logging;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Non-blocking logger: workers enqueue, one background thread formats and prints
+ *
+ * WHY: System.out.printf takes the PrintStream lock and formats on the
+ * caller's thread, so with many workers logging the console becomes the
+ * bottleneck. Here the caller only claims a ring-buffer slot (one CAS)
+ * and stores the format string and arguments; String.format and I/O
+ * happen on the drain thread
+ *
+ * RING BUFFER: bounded multi-producer / single-consumer, preallocated slots
+ * with a per-slot sequence number (Vyukov style)
+ * - slot free for position p when sequence == p
+ * - slot readable for position p when sequence == p + 1
+ * - when full the event is dropped and counted, the caller never blocks
+ *
+ * LEVELS: events below the threshold are rejected before touching the buffer.
+ * WARN/ERROR go to the error stream, the rest to the output stream
+ *
+ * ORDERING: events from one thread keep their order; events from different
+ * threads are printed in the order they claimed a slot. Call flush() before
+ * writing to System.out directly so earlier events appear first
+ */
+public class AsyncLogger implements AutoCloseable {
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile AsyncLogger shared;
+
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final Event[] events;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Thread drainer;
+
+    private volatile LogLevel threshold;
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     * @param capacity Ring size, rounded up to a power of two
+     * @param threshold Lowest level that is logged
+     * @param out Stream for DEBUG/INFO
+     * @param err Stream for WARN/ERROR
+     */
+    public AsyncLogger(int capacity, LogLevel threshold, PrintStream out, PrintStream err) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        size = Math.max(2, size);
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.events = new Event[size];
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+            events[i] = new Event();
+        }
+        this.threshold = threshold;
+        this.out = out;
+        this.err = err;
+
+        this.drainer = new Thread(this::drainLoop, "async-logger");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Logger shared by both scenarios
+     * Level from -Dlog.level (default INFO), capacity from -Dlog.capacity;
+     * drained on JVM exit
+     */
+    public static AsyncLogger shared() {
+        AsyncLogger logger = shared;
+        if (logger == null) {
+            synchronized (AsyncLogger.class) {
+                logger = shared;
+                if (logger == null) {
+                    logger = new AsyncLogger(
+                            Integer.getInteger("log.capacity", DEFAULT_CAPACITY),
+                            LogLevel.parse(System.getProperty("log.level"), LogLevel.INFO),
+                            System.out, System.err);
+                    Runtime.getRuntime().addShutdownHook(new Thread(logger::close, "async-logger-shutdown"));
+                    shared = logger;
+                }
+            }
+        }
+        return logger;
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level != LogLevel.OFF && level.isAtLeast(threshold);
+    }
+
+    public void debug(String format, Object... args) {
+        log(LogLevel.DEBUG, format, args);
+    }
+
+    public void info(String format, Object... args) {
+        log(LogLevel.INFO, format, args);
+    }
+
+    public void warn(String format, Object... args) {
+        log(LogLevel.WARN, format, args);
+    }
+
+    public void error(String format, Object... args) {
+        log(LogLevel.ERROR, format, args);
+    }
+
+    /**
+     * Enqueue an event; never blocks
+     * @param format String.format pattern, applied on the drain thread
+     *               (printed as-is when there are no args)
+     * @param args Arguments; must not be mutated after the call
+     * @return false if filtered out, closed, or dropped because the buffer was full
+     */
+    public boolean log(LogLevel level, String format, Object... args) {
+        if (!isEnabled(level) || closed) {
+            return false;
+        }
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    Event event = events[index];
+                    event.level = level;
+                    event.format = format;
+                    event.args = args;
+                    // Publish: the volatile write makes the fields visible to the drainer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (available < 0) {
+                // Consumer has not freed this slot yet: buffer full
+                dropped.increment();
+                return false;
+            }
+            // available > 0: another producer took this position, reload tail
+        }
+    }
+
+    /**
+     * Wait until every event enqueued before this call has been printed
+     */
+    public void flush() {
+        long target = tail.get();
+        while (head.get() < target && drainer.isAlive()) {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+        out.flush();
+        err.flush();
+    }
+
+    /**
+     * Events lost because the ring buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public LogLevel getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(LogLevel threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Stop accepting events and print whatever is still buffered
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Single consumer: print ready events, park briefly when idle
+     */
+    private void drainLoop() {
+        while (true) {
+            if (drainAvailable() == 0) {
+                if (closed) {
+                    drainAvailable();
+                    return;
+                }
+                out.flush();
+                err.flush();
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drainAvailable() {
+        int drained = 0;
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            Event event = events[index];
+            write(event.level, event.format, event.args);
+            event.format = null;
+            event.args = null;
+            // Free the slot for the producer one lap ahead
+            sequences.set(index, position + mask + 1);
+            position++;
+            head.lazySet(position);
+            drained++;
+        }
+        return drained;
+    }
+
+    private void write(LogLevel level, String format, Object[] args) {
+        PrintStream stream = level.isAtLeast(LogLevel.WARN) ? err : out;
+        try {
+            stream.print(args == null || args.length == 0
+                    ? format
+                    : String.format(format, args));
+            stream.println();
+        } catch (RuntimeException e) {
+            // A bad format string must not kill the drain thread
+            err.println("[logger] cannot format \"" + format + "\": " + e);
+        }
+    }
+
+    /**
+     * Preallocated ring-buffer slot (fields guarded by the slot's sequence)
+     */
+    private static final class Event {
+        LogLevel level;
+        String format;
+        Object[] args;
+    }
+}
@@ -0,0 +1,33 @@
+package logging;
+
+/**
+ * Severity of a log event, lowest first
+ * An AsyncLogger drops events below its threshold before doing any work
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * Parse a level name, case-insensitive
+     * @param name Level name (null = fallback)
+     * @param fallback Level used when name is null or unknown
+     */
+    public static LogLevel parse(String name, LogLevel fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    public boolean isAtLeast(LogLevel threshold) {
+        return compareTo(threshold) >= 0;
+    }
+}
@@ -0,0 +1,98 @@
+package scenario1;
+
+/**
+ * In-flight window that sizes itself from observed latency
+ *
+ * ALGORITHM: gradient limiter (after Netflix concurrency-limits "Gradient2")
+ * - shortRtt: average latency of the last SAMPLE_SIZE completions
+ * - baseline: lowest shortRtt seen, drifting up 1% per sample so it can
+ *             follow genuine slow-downs (the "no queueing" latency)
+ * - gradient = clamp(TOLERANCE * baseline / shortRtt, 0.5, 1.0)
+ * - newLimit = limit * gradient + sqrt(limit)
+ *
+ * Averages (not single minimums) are compared because submitExam() times
+ * are uniformly random, so one fast submission says nothing about queueing
+ *
+ * While latency stays flat the gradient is 1 and the limit grows by
+ * sqrt(limit) per sample; once extra concurrency only adds queueing,
+ * shortRtt rises and the limit backs off. The result settles near the
+ * knee of the throughput curve without a hand-tuned pool size
+ *
+ * THREAD SAFETY: all state is updated inside SubmissionWindow's lock
+ */
+public class AdaptiveSubmissionWindow extends SubmissionWindow {
+    private static final int SAMPLE_SIZE = 50;
+    private static final double TOLERANCE = 1.5;
+    private static final double BASELINE_DRIFT = 1.01;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double estimatedLimit;
+    private double baselineRttNanos;
+    private long sampleSumNanos;
+    private int sampleCount;
+    private int sampleMaxInFlight;
+
+    /**
+     * Constructor
+     * @param initialLimit Starting window
+     * @param minLimit Window never shrinks below this
+     * @param maxLimit Window never grows above this
+     */
+    public AdaptiveSubmissionWindow(int initialLimit, int minLimit, int maxLimit) {
+        super(initialLimit);
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(String.format(
+                    "Need 0 < min <= initial <= max, got %d/%d/%d", minLimit, initialLimit, maxLimit));
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    @Override
+    protected void onComplete(long latencyNanos, int inFlight) {
+        sampleSumNanos += latencyNanos;
+        sampleCount++;
+        sampleMaxInFlight = Math.max(sampleMaxInFlight, inFlight + 1);
+        if (sampleCount < SAMPLE_SIZE) {
+            return;
+        }
+
+        double shortRtt = (double) sampleSumNanos / sampleCount;
+        boolean appLimited = sampleMaxInFlight < estimatedLimit / 2;
+        sampleSumNanos = 0;
+        sampleCount = 0;
+        sampleMaxInFlight = 0;
+
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = shortRtt;
+            return;
+        }
+        baselineRttNanos = Math.min(shortRtt, baselineRttNanos * BASELINE_DRIFT);
+
+        // Producer could not fill the window: no evidence that more would help
+        if (appLimited) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * baselineRttNanos / shortRtt));
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueAllowance;
+
+        estimatedLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        setLimit((int) estimatedLimit);
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    @Override
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
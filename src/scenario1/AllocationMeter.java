@@ -0,0 +1,55 @@
+package scenario1;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Heap bytes allocated by the current thread (HotSpot's per-thread TLAB counter)
+ *
+ * Callers read it before and after a piece of work and record the
+ * difference. Reads return -1 when the JVM cannot measure the current
+ * thread (no com.sun.management extension, or a virtual thread)
+ */
+final class AllocationMeter {
+    private static final com.sun.management.ThreadMXBean THREADS = findThreadBean();
+
+    private AllocationMeter() {
+    }
+
+    /**
+     * @return bytes allocated so far by this thread, or -1 if unavailable
+     */
+    static long currentThreadAllocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Allocation since `before` (a value from currentThreadAllocatedBytes), 0 if unavailable
+     */
+    static long allocatedSince(long before) {
+        if (before < 0) {
+            return 0;
+        }
+        long now = currentThreadAllocatedBytes();
+        return now >= before ? now - before : 0;
+    }
+
+    static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                    return threads;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // Not measurable on this JVM
+        }
+        return null;
+    }
+}
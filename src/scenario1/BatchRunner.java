@@ -0,0 +1,395 @@
+package scenario1;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Headless sweep runner for capacity testing (no Scanner, no menus)
+ *
+ * Runs every combination of mode × scheduling × adaptive × pool size × student count in-process,
+ * with warm-up runs discarded, and writes one CSV/JSON row per measured run.
+ *
+ * Usage:
+ *   java scenario1.BatchRunner --students=1000,10000 --pools=8,32
+ *        --modes=FIXED_POOL,VIRTUAL_THREADS --adaptive=false,true --reps=3 --warmup=1
+ *        --submit-ms=100 --format=csv --out=results.csv
+ *
+ * Deadline scheduling: --exam-deadlines=500,1500 --scheduling=FIFO,EDF --shed=true
+ * (EDF needs FIXED_POOL; a larger --max-in-flight gives it more queued work to reorder)
+ *
+ * Progress goes to stderr, so stdout can be redirected when --out is omitted
+ */
+public class BatchRunner {
+
+    private List<Integer> studentCounts = List.of(1000);
+    private List<Integer> poolSizes = List.of(Runtime.getRuntime().availableProcessors() * 2);
+    private List<ExecutionMode> modes = List.of(ExecutionMode.FIXED_POOL);
+    private List<SchedulingPolicy> schedulingPolicies = List.of(SchedulingPolicy.FIFO);
+    private List<Boolean> adaptiveOptions = List.of(false);
+    private int repetitions = 1;
+    private int warmupRuns = 0;
+    private int maxSubmitTimeMs = Student.DEFAULT_MAX_SUBMIT_TIME_MS;
+    private RetryPolicy retryPolicy = RetryPolicy.none();
+    private int submissionTimeoutMs = 0;
+    private int runDeadlineMs = 0;
+    private Path journalRoot;
+    private int payloadKb = 0;
+    private int corpusFiles = 1000;
+    private Path payloadRoot;
+    private PayloadCorpus payloadCorpus;
+    private int duplicatePct = 0;
+    private ExamDeadlines examDeadlines;
+    private boolean shedHopeless;
+    private int maxInFlight = 0;
+    private int courses = 0;
+    private int halls = 4;
+    private long progressMs = 0;
+    private int runNumber;
+    private String format = "csv";
+    private String outputPath;
+
+    public static void main(String[] args) {
+        BatchRunner runner = new BatchRunner();
+        try {
+            runner.parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage();
+            System.exit(2);
+        }
+
+        try {
+            SweepReport report = runner.runSweep();
+            runner.writeReport(report);
+        } catch (InterruptedException e) {
+            System.err.println("Sweep interrupted");
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Parse --key=value arguments
+     * @throws IllegalArgumentException on unknown keys or bad values
+     */
+    public void parseArgs(String[] args) {
+        for (String arg : args) {
+            String[] option = splitOption(arg);
+            String key = option[0];
+            String value = option[1];
+
+            switch (key) {
+                case "students": studentCounts = parseInts(key, value); break;
+                case "pools": poolSizes = parseInts(key, value); break;
+                case "modes": modes = parseModes(value); break;
+                case "adaptive": adaptiveOptions = parseBooleans(key, value); break;
+                case "reps": repetitions = parsePositive(key, value); break;
+                case "warmup": warmupRuns = parseNonNegative(key, value); break;
+                case "submit-ms": maxSubmitTimeMs = parseNonNegative(key, value); break;
+                case "max-attempts":
+                    retryPolicy = RetryPolicy.defaults()
+                            .withMaxAttempts(parsePositive(key, value))
+                            .withHedgeDelay(retryPolicy.getHedgeDelayMs());
+                    break;
+                case "hedge-ms":
+                    retryPolicy = retryPolicy.withHedgeDelay(parseNonNegative(key, value));
+                    break;
+                case "timeout-ms": submissionTimeoutMs = parseNonNegative(key, value); break;
+                case "run-deadline-ms": runDeadlineMs = parseNonNegative(key, value); break;
+                case "journal": journalRoot = Paths.get(value); break;
+                case "duplicate-pct":
+                    duplicatePct = parseNonNegative(key, value);
+                    if (duplicatePct > 100) {
+                        throw new IllegalArgumentException(key + " must be 0-100: " + value);
+                    }
+                    break;
+                case "scheduling": schedulingPolicies = parseSchedulingPolicies(value); break;
+                case "exam-deadlines": examDeadlines = ExamDeadlines.parse(value); break;
+                case "shed": shedHopeless = parseBooleans(key, value).get(0); break;
+                case "max-in-flight": maxInFlight = parseNonNegative(key, value); break;
+                case "courses": courses = parseNonNegative(key, value); break;
+                case "halls": halls = parsePositive(key, value); break;
+                case "progress-ms": progressMs = parseNonNegative(key, value); break;
+                case "payload-kb": payloadKb = parseNonNegative(key, value); break;
+                case "corpus-files": corpusFiles = parsePositive(key, value); break;
+                case "payload-dir": payloadRoot = Paths.get(value); break;
+                case "format":
+                    if (!value.equals("csv") && !value.equals("json")) {
+                        throw new IllegalArgumentException("format must be csv or json: " + value);
+                    }
+                    format = value;
+                    break;
+                case "out": outputPath = value; break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+    }
+
+    /**
+     * Run every configuration: warm-up runs first, then measured repetitions
+     */
+    public SweepReport runSweep() throws InterruptedException, IOException {
+        SweepReport report = new SweepReport();
+        if (payloadKb > 0) {
+            if (payloadRoot == null) {
+                payloadRoot = Files.createTempDirectory("submission-payloads");
+            }
+            System.err.printf("Generating payload corpus: %,d files of %,d KB in %s%n",
+                    corpusFiles, payloadKb, payloadRoot.resolve("corpus"));
+            payloadCorpus = PayloadCorpus.generate(payloadRoot.resolve("corpus"), corpusFiles, payloadKb * 1024, 42L);
+        }
+        int configurations = modes.size() * schedulingPolicies.size() * adaptiveOptions.size()
+                * poolSizes.size() * studentCounts.size();
+        int configNumber = 0;
+
+        for (ExecutionMode mode : modes) {
+            for (SchedulingPolicy scheduling : schedulingPolicies) {
+                for (boolean adaptive : adaptiveOptions) {
+                    for (int poolSize : poolSizes) {
+                        for (int students : studentCounts) {
+                            configNumber++;
+                            if (scheduling != SchedulingPolicy.FIFO && mode != ExecutionMode.FIXED_POOL) {
+                                System.err.printf("[%d/%d] %s %s skipped (needs FIXED_POOL)%n",
+                                        configNumber, configurations, mode, scheduling);
+                                continue;
+                            }
+                            System.err.printf("[%d/%d] %s %s%s pool=%d students=%,d%n",
+                                    configNumber, configurations, mode, scheduling,
+                                    adaptive ? " (adaptive)" : "", poolSize, students);
+
+                            for (int w = 0; w < warmupRuns; w++) {
+                                runOnce(mode, scheduling, adaptive, poolSize, students);
+                            }
+                            for (int rep = 1; rep <= repetitions; rep++) {
+                                NewSubmissionSystem system = runOnce(mode, scheduling, adaptive, poolSize, students);
+                                StatsSnapshot snapshot = system.getStats().snapshot();
+                                report.addRun(mode, scheduling, students, poolSize,
+                                        windowSize(mode, poolSize), adaptive, rep, snapshot);
+                                System.err.printf("      rep %d: %,d ms, %.1f/s, p99 %.2f ms, limit %d%n",
+                                        rep, snapshot.getElapsedMillis(), snapshot.getThroughput(),
+                                        snapshot.getLatency().getPercentileMillis(99.0),
+                                        snapshot.getConcurrencyLimit());
+                                if (system.getCourseStats() != null) {
+                                    system.getCourseStats().printTable("Course", System.err);
+                                    system.getHallStats().printTable("Hall", System.err);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Run one configuration in-process with console output disabled
+     */
+    private NewSubmissionSystem runOnce(ExecutionMode mode, SchedulingPolicy scheduling, boolean adaptive,
+                                        int poolSize, int students) throws InterruptedException, IOException {
+        SubmissionWindow window = adaptive
+                ? NewSubmissionSystem.adaptiveWindow(mode, poolSize)
+                : new SubmissionWindow(windowSize(mode, poolSize));
+        NewSubmissionSystem system = new NewSubmissionSystem(mode, poolSize, students, window);
+        system.setVerbose(false);
+        system.setSchedulingPolicy(scheduling);
+        system.setExamDeadlines(examDeadlines);
+        system.setShedHopeless(shedHopeless);
+        system.setProgressIntervalMs(progressMs);
+        if (courses > 0) {
+            system.setCourseCatalog(CourseCatalog.generate(courses, halls));
+        }
+        system.setMaxSubmitTimeMs(maxSubmitTimeMs);
+        system.setRetryPolicy(retryPolicy);
+        system.setSubmissionTimeoutMs(submissionTimeoutMs);
+        system.setRunDeadlineMs(runDeadlineMs);
+        runNumber++;
+        SubmissionJournal journal = journalRoot != null
+                ? new SubmissionJournal(journalRoot.resolve(String.format("run-%03d", runNumber)))
+                : null;
+        system.setJournal(journal);
+        if (payloadCorpus != null) {
+            // Fresh store per run so every run copies the same amount
+            system.setPayloads(payloadCorpus,
+                    new PayloadStore(payloadRoot.resolve(String.format("store-%03d", runNumber))));
+        }
+        try {
+            if (duplicatePct == 0) {
+                // Plain 1..N range (FORK_JOIN splits it instead of streaming ids)
+                system.processSubmissions();
+            } else {
+                system.processSubmissions(studentIds(students));
+            }
+        } finally {
+            system.shutdown();
+            if (journal != null) {
+                journal.close();
+            }
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+        return system;
+    }
+
+    /**
+     * In-flight window: --max-in-flight if given, else the mode's default
+     */
+    private int windowSize(ExecutionMode mode, int poolSize) {
+        return maxInFlight > 0 ? maxInFlight : NewSubmissionSystem.defaultWindowSize(mode, poolSize);
+    }
+
+    /**
+     * Ids 1..students in order; with --duplicate-pct each student has that
+     * chance of clicking submit twice (the repeat follows immediately)
+     */
+    private PrimitiveIterator.OfInt studentIds(int students) {
+        if (duplicatePct == 0) {
+            return IntStream.rangeClosed(1, students).iterator();
+        }
+        SplittableRandom random = new SplittableRandom(students);
+        return IntStream.rangeClosed(1, students)
+                .flatMap(id -> random.nextInt(100) < duplicatePct ? IntStream.of(id, id) : IntStream.of(id))
+                .iterator();
+    }
+
+    /**
+     * Write to --out file, or stdout when not given
+     */
+    public void writeReport(SweepReport report) throws IOException {
+        PrintStream out = outputPath == null
+                ? System.out
+                : new PrintStream(outputPath, StandardCharsets.UTF_8);
+        try {
+            if (format.equals("json")) {
+                report.writeJson(out);
+            } else {
+                report.writeCsv(out);
+            }
+        } finally {
+            if (out != System.out) {
+                out.close();
+            }
+        }
+        if (outputPath != null) {
+            System.err.println("Report written to " + outputPath);
+        }
+    }
+
+    /**
+     * Split --key=value into {key, value}
+     */
+    static String[] splitOption(String arg) {
+        int eq = arg.indexOf('=');
+        if (!arg.startsWith("--") || eq < 0) {
+            throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+        }
+        return new String[] {arg.substring(2, eq), arg.substring(eq + 1)};
+    }
+
+    static List<Integer> parseInts(String key, String value) {
+        List<Integer> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            values.add(parsePositive(key, part.trim()));
+        }
+        return values;
+    }
+
+    static List<ExecutionMode> parseModes(String value) {
+        List<ExecutionMode> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            try {
+                values.add(ExecutionMode.valueOf(part.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown mode: " + part);
+            }
+        }
+        return values;
+    }
+
+    private static List<SchedulingPolicy> parseSchedulingPolicies(String value) {
+        List<SchedulingPolicy> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            try {
+                values.add(SchedulingPolicy.valueOf(part.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown scheduling policy: " + part);
+            }
+        }
+        return values;
+    }
+
+    private static List<Boolean> parseBooleans(String key, String value) {
+        List<Boolean> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String trimmed = part.trim().toLowerCase();
+            if (!trimmed.equals("true") && !trimmed.equals("false")) {
+                throw new IllegalArgumentException(key + " must be true or false: " + part);
+            }
+            values.add(Boolean.parseBoolean(trimmed));
+        }
+        return values;
+    }
+
+    static int parsePositive(String key, String value) {
+        int parsed = parseNonNegative(key, value);
+        if (parsed == 0) {
+            throw new IllegalArgumentException(key + " must be positive: " + value);
+        }
+        return parsed;
+    }
+
+    static int parseNonNegative(String key, String value) {
+        try {
+            int parsed = Integer.parseInt(value.replace("_", ""));
+            if (parsed < 0) {
+                throw new IllegalArgumentException(key + " must not be negative: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a number: " + value);
+        }
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: java scenario1.BatchRunner [options]");
+        System.err.println("  --students=N[,N...]   student counts (default 1000)");
+        System.err.println("  --pools=N[,N...]      pool sizes / virtual-thread caps (default 2x cores)");
+        System.err.println("  --modes=M[,M...]      FIXED_POOL, VIRTUAL_THREADS, FORK_JOIN (default FIXED_POOL)");
+        System.err.println("  --scheduling=S[,S...] FIFO, EDF (earliest exam deadline first) (default FIFO)");
+        System.err.println("  --adaptive=B[,B...]   adaptive concurrency limit true/false (default false)");
+        System.err.println("  --max-in-flight=N     in-flight window, 0 = mode default (default 0)");
+        System.err.println("  --reps=N              measured runs per configuration (default 1)");
+        System.err.println("  --warmup=N            discarded runs per configuration (default 0)");
+        System.err.println("  --submit-ms=N         max simulated submit time, 0 = no sleep (default 100)");
+        System.err.println("  --max-attempts=N      attempts per submission, jittered backoff (default 1)");
+        System.err.println("  --hedge-ms=N          hedge slow attempts after N ms, 0 = off (default 0)");
+        System.err.println("  --timeout-ms=N        cancel a submission after N ms, 0 = off (default 0)");
+        System.err.println("  --run-deadline-ms=N   stop the whole run after N ms, 0 = off (default 0)");
+        System.err.println("  --exam-deadlines=MS,.. exam deadlines after run start, students round-robin");
+        System.err.println("  --shed=B              skip submissions that cannot meet their deadline (default false)");
+        System.err.println("  --courses=N           per-course breakdown on stderr, 0 = off (default 0)");
+        System.err.println("  --halls=N             exam halls for the breakdown (default 4)");
+        System.err.println("  --progress-ms=N       progress line on stderr every N ms, 0 = off (default 0)");
+        System.err.println("  --journal=DIR         write-ahead journal per run in DIR/run-NNN (default off)");
+        System.err.println("  --duplicate-pct=N     % of students who submit twice (default 0)");
+        System.err.println("  --payload-kb=N        each student uploads an N KB exam file, 0 = off (default 0)");
+        System.err.println("  --corpus-files=N      distinct exam files in the corpus (default 1000)");
+        System.err.println("  --payload-dir=DIR     corpus + content-addressed stores (default temp dir)");
+        System.err.println("  --format=csv|json     report format (default csv)");
+        System.err.println("  --out=FILE            report file (default stdout)");
+    }
+}
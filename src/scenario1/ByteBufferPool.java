@@ -0,0 +1,68 @@
+package scenario1;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of equal-sized direct buffers
+ *
+ * Direct buffers are expensive to allocate and are only freed by the GC,
+ * so connections borrow them here and hand them back when they close
+ * instead of allocating per connection
+ *
+ * THREAD SAFETY: lock-free queue; buffers are cleared on release
+ */
+public class ByteBufferPool {
+    private final int bufferBytes;
+    private final int maxPooled;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final AtomicInteger allocated = new AtomicInteger();
+
+    /**
+     * Constructor
+     * @param bufferBytes Size of every buffer
+     * @param maxPooled Idle buffers kept; extra releases are left to the GC
+     */
+    public ByteBufferPool(int bufferBytes, int maxPooled) {
+        this.bufferBytes = bufferBytes;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Borrow a cleared buffer (allocates if the pool is empty)
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer != null) {
+            pooled.decrementAndGet();
+            return buffer;
+        }
+        allocated.incrementAndGet();
+        return ByteBuffer.allocateDirect(bufferBytes);
+    }
+
+    /**
+     * Return a buffer; the caller must not use it afterwards
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() != bufferBytes || pooled.get() >= maxPooled) {
+            return;
+        }
+        buffer.clear();
+        pooled.incrementAndGet();
+        free.offer(buffer);
+    }
+
+    /**
+     * Buffers allocated since creation (pool misses)
+     */
+    public int getAllocatedCount() {
+        return allocated.get();
+    }
+
+    public int getBufferBytes() {
+        return bufferBytes;
+    }
+}
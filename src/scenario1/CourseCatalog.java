@@ -0,0 +1,72 @@
+package scenario1;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Courses (modules) and exam halls, and which ones each student belongs to
+ *
+ * Assignment is computed from the id, so the hot path needs no lookup
+ * table: student n takes course n % courses and sits in hall
+ * (n / courses) % halls, which spreads every course over every hall
+ */
+public class CourseCatalog {
+    private final List<String> courseNames;
+    private final List<String> hallNames;
+
+    public CourseCatalog(List<String> courseNames, List<String> hallNames) {
+        if (courseNames.isEmpty() || hallNames.isEmpty()) {
+            throw new IllegalArgumentException("At least one course and one hall are required");
+        }
+        this.courseNames = List.copyOf(courseNames);
+        this.hallNames = List.copyOf(hallNames);
+    }
+
+    /**
+     * Generated catalog: module codes 6SENG001.. and halls Hall A, Hall B..
+     */
+    public static CourseCatalog generate(int courses, int halls) {
+        if (courses <= 0 || halls <= 0 || halls > 26) {
+            throw new IllegalArgumentException("Need 1+ courses and 1-26 halls");
+        }
+        String[] courseNames = new String[courses];
+        for (int i = 0; i < courses; i++) {
+            courseNames[i] = String.format("6SENG%03d", i + 1);
+        }
+        String[] hallNames = new String[halls];
+        for (int i = 0; i < halls; i++) {
+            hallNames[i] = "Hall " + (char) ('A' + i);
+        }
+        return new CourseCatalog(List.of(courseNames), List.of(hallNames));
+    }
+
+    /**
+     * Course index of a student (0..courses-1)
+     */
+    public int courseOf(int studentId) {
+        return Math.floorMod(studentId, courseNames.size());
+    }
+
+    /**
+     * Hall index of a student (0..halls-1)
+     */
+    public int hallOf(int studentId) {
+        return Math.floorMod(Math.floorDiv(studentId, courseNames.size()), hallNames.size());
+    }
+
+    public String courseName(int studentId) {
+        return courseNames.get(courseOf(studentId));
+    }
+
+    public String hallName(int studentId) {
+        return hallNames.get(hallOf(studentId));
+    }
+
+    public List<String> getCourseNames() {
+        return Collections.unmodifiableList(courseNames);
+    }
+
+    public List<String> getHallNames() {
+        return Collections.unmodifiableList(hallNames);
+    }
+}
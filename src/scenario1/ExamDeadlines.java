@@ -0,0 +1,66 @@
+package scenario1;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Exam deadline of every student, as an offset from the start of the run
+ *
+ * Several exams close at different times; students are spread over them
+ * round-robin (student n sits exam n % exams), so neighbouring ids -
+ * and therefore neighbouring submissions in the queue - have different
+ * deadlines
+ */
+public class ExamDeadlines {
+    private final long[] deadlinesMs;
+
+    /**
+     * Constructor
+     * @param deadlinesMs One deadline per exam, ms after the run starts
+     */
+    public ExamDeadlines(long... deadlinesMs) {
+        if (deadlinesMs.length == 0) {
+            throw new IllegalArgumentException("At least one exam deadline is required");
+        }
+        for (long deadline : deadlinesMs) {
+            if (deadline <= 0) {
+                throw new IllegalArgumentException("Exam deadlines must be positive: " + deadline);
+            }
+        }
+        this.deadlinesMs = deadlinesMs.clone();
+    }
+
+    /**
+     * Parse a comma-separated list of deadlines in ms (e.g. "500,1000,2000")
+     */
+    public static ExamDeadlines parse(String value) {
+        String[] parts = value.split(",");
+        long[] deadlines = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                deadlines[i] = Long.parseLong(parts[i].trim().replace("_", ""));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Exam deadline is not a number: " + parts[i]);
+            }
+        }
+        return new ExamDeadlines(deadlines);
+    }
+
+    /**
+     * Deadline of the exam this student sits, ms after the run starts
+     */
+    public long deadlineMsFor(int studentId) {
+        return deadlinesMs[Math.floorMod(studentId, deadlinesMs.length)];
+    }
+
+    public int getExamCount() {
+        return deadlinesMs.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.stream(deadlinesMs)
+                .mapToObj(ms -> String.format("%,d", ms))
+                .collect(Collectors.joining(", ", "", " ms"));
+    }
+}
@@ -0,0 +1,148 @@
+package scenario1;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution strategies available to NewSubmissionSystem
+ *
+ * FIXED_POOL      - fixed number of platform threads (original design)
+ * VIRTUAL_THREADS - one virtual thread per submission, optional concurrency cap
+ * FORK_JOIN       - work-stealing pool; the id range is split recursively
+ *                   instead of queueing one task per student
+ */
+public enum ExecutionMode {
+    FIXED_POOL("Fixed Thread Pool"),
+    VIRTUAL_THREADS("Virtual Threads"),
+    FORK_JOIN("Fork/Join Range Splitting");
+
+    // FORK_JOIN: workers blocked in submitExam() are replaced up to this many
+    // threads per unit of parallelism (same as the default in-flight window)
+    private static final int FORK_JOIN_THREADS_PER_WORKER = 4;
+
+    private final String displayName;
+
+    ExecutionMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Create the executor backing this mode
+     * @param poolSize Threads for FIXED_POOL (ignored for VIRTUAL_THREADS)
+     */
+    public ExecutorService createExecutor(int poolSize) {
+        switch (this) {
+            case VIRTUAL_THREADS:
+                return newThreadPerTaskExecutor();
+            case FORK_JOIN:
+                return newForkJoinPool(Math.max(1, poolSize));
+            case FIXED_POOL:
+            default:
+                return Executors.newFixedThreadPool(poolSize);
+        }
+    }
+
+    /**
+     * Create the executor backing this mode with the given queue order
+     *
+     * EDF needs a queue to reorder, so it is only available for FIXED_POOL:
+     * a thread-per-task executor starts every submission straight away
+     *
+     * @param poolSize Threads for FIXED_POOL (ignored for VIRTUAL_THREADS)
+     * @throws IllegalArgumentException for EDF with VIRTUAL_THREADS
+     */
+    public ExecutorService createExecutor(int poolSize, SchedulingPolicy policy) {
+        return createExecutor(poolSize, policy, 0);
+    }
+
+    /**
+     * Create the executor backing this mode with a bounded FIFO queue
+     *
+     * FIXED_POOL + FIFO with queueCapacity > 0 queues in an ArrayBlockingQueue
+     * instead of a LinkedBlockingQueue, so handing over a task allocates no
+     * queue node; the caller must never queue more than queueCapacity tasks
+     * (NewSubmissionSystem's in-flight window guarantees it)
+     *
+     * @param queueCapacity Most tasks ever queued, 0 = unbounded
+     */
+    public ExecutorService createExecutor(int poolSize, SchedulingPolicy policy, int queueCapacity) {
+        if (policy == SchedulingPolicy.FIFO) {
+            if (this == FIXED_POOL && queueCapacity > 0) {
+                return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity));
+            }
+            return createExecutor(poolSize);
+        }
+        if (this != FIXED_POOL) {
+            throw new IllegalArgumentException(policy + " scheduling needs a worker pool (FIXED_POOL)");
+        }
+        // Queued tasks are Comparable (earliest deadline first)
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>());
+    }
+
+    /**
+     * Work-stealing pool with a cap on compensation threads
+     *
+     * A worker blocked inside ForkJoinPool.managedBlock() gets a temporary
+     * replacement so the pool keeps `parallelism` threads runnable; the cap
+     * stops that from growing without bound, and once it is reached blocked
+     * workers simply wait (saturate returns true) rather than fail
+     */
+    private static ForkJoinPool newForkJoinPool(int parallelism) {
+        return new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null,
+                false, parallelism, maxForkJoinThreads(parallelism), 1,
+                pool -> true, 60, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Most threads a FORK_JOIN pool runs, counting replacements for blocked workers
+     */
+    public static int maxForkJoinThreads(int parallelism) {
+        return Math.max(1, parallelism) * FORK_JOIN_THREADS_PER_WORKER;
+    }
+
+    /**
+     * Check whether the running JVM provides real virtual threads (Java 21+)
+     */
+    public static boolean virtualThreadsSupported() {
+        return findVirtualThreadFactory() != null;
+    }
+
+    /**
+     * Thread-per-task executor
+     *
+     * Project targets JDK 17, so Executors.newVirtualThreadPerTaskExecutor()
+     * is looked up reflectively. On older JVMs we fall back to a cached pool,
+     * which still starts one thread per blocked submission.
+     */
+    private static ExecutorService newThreadPerTaskExecutor() {
+        Method factory = findVirtualThreadFactory();
+        if (factory != null) {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Fall through to platform threads
+            }
+        }
+        return Executors.newCachedThreadPool();
+    }
+
+    private static Method findVirtualThreadFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
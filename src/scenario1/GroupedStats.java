@@ -0,0 +1,184 @@
+package scenario1;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Submission outcomes and latency broken down by group (course or exam hall)
+ *
+ * Updated by workers as each submission finishes, so the breakdown is
+ * current while the run is still going: snapshot() can be called at any
+ * time to spot a course whose failure rate is climbing mid-exam
+ *
+ * LATENCY: mean and max per group only (a sum and a max, a few dozen bytes
+ * per group however many courses there are); percentiles stay global in
+ * SubmissionStats, whose histogram is too large to repeat per group
+ *
+ * THREAD SAFETY: LongAdders and a LongAccumulator per group; writers never
+ * lock and readers never block writers
+ */
+public class GroupedStats {
+    private final List<String> names;
+    private final LongAdder[] successful;
+    private final LongAdder[] failed;
+    private final LongAdder[] timedOut;
+    private final LongAdder[] shed;
+    private final LongAdder[] latencySumNanos;
+    private final LongAccumulator[] latencyMaxNanos;
+
+    /**
+     * Constructor
+     * @param names Group names, indexed by group number
+     */
+    public GroupedStats(List<String> names) {
+        this.names = List.copyOf(names);
+        int groups = names.size();
+        this.successful = newAdders(groups);
+        this.failed = newAdders(groups);
+        this.timedOut = newAdders(groups);
+        this.shed = newAdders(groups);
+        this.latencySumNanos = newAdders(groups);
+        this.latencyMaxNanos = new LongAccumulator[groups];
+        for (int g = 0; g < groups; g++) {
+            latencyMaxNanos[g] = new LongAccumulator(Math::max, 0);
+        }
+    }
+
+    private static LongAdder[] newAdders(int groups) {
+        LongAdder[] adders = new LongAdder[groups];
+        for (int g = 0; g < groups; g++) {
+            adders[g] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Record one finished submission
+     * @param group Group number (index into the names)
+     * @param totalNanos Queue wait + service time
+     */
+    public void record(int group, SubmissionResult result, long totalNanos) {
+        switch (result) {
+            case SUCCESS:
+                successful[group].increment();
+                break;
+            case TIMEOUT:
+                timedOut[group].increment();
+                break;
+            case SHED:
+                shed[group].increment();
+                return;     // not processed: no latency
+            default:
+                failed[group].increment();
+                break;
+        }
+        latencySumNanos[group].add(totalNanos);
+        latencyMaxNanos[group].accumulate(totalNanos);
+    }
+
+    /**
+     * Copy of every group (safe while submissions are running; each
+     * counter is exact but they are read one after another)
+     */
+    public List<GroupSnapshot> snapshot() {
+        List<GroupSnapshot> groups = new ArrayList<>(names.size());
+        for (int g = 0; g < names.size(); g++) {
+            groups.add(new GroupSnapshot(names.get(g), successful[g].sum(), failed[g].sum(),
+                    timedOut[g].sum(), shed[g].sum(), latencySumNanos[g].sum(), latencyMaxNanos[g].get()));
+        }
+        return groups;
+    }
+
+    /**
+     * Print one row per group, highest failure rate first
+     */
+    public void printTable(String title, PrintStream out) {
+        List<GroupSnapshot> groups = snapshot();
+        groups.sort(Comparator.comparingDouble(GroupSnapshot::getFailureRate).reversed());
+        out.println("-".repeat(70));
+        out.printf("%-12s%10s%10s%9s%9s%8s%10s%10s%n",
+                title, "total", "success", "failed", "timeout", "fail%", "mean ms", "max ms");
+        for (GroupSnapshot group : groups) {
+            out.printf("%-12s%,10d%,10d%,9d%,9d%7.2f%%%10.2f%10.2f%n",
+                    group.getName(), group.getTotal(), group.getSuccessful(), group.getFailed(),
+                    group.getTimedOut(), group.getFailureRate(),
+                    group.getMeanLatencyMillis(), group.getMaxLatencyMillis());
+        }
+    }
+
+    /**
+     * Immutable copy of one group's counters and latency
+     */
+    public static class GroupSnapshot {
+        private final String name;
+        private final long successful;
+        private final long failed;
+        private final long timedOut;
+        private final long shed;
+        private final long latencySumNanos;
+        private final long latencyMaxNanos;
+
+        GroupSnapshot(String name, long successful, long failed, long timedOut, long shed,
+                      long latencySumNanos, long latencyMaxNanos) {
+            this.name = name;
+            this.successful = successful;
+            this.failed = failed;
+            this.timedOut = timedOut;
+            this.shed = shed;
+            this.latencySumNanos = latencySumNanos;
+            this.latencyMaxNanos = latencyMaxNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Processed submissions (successful, failed or timed out)
+         */
+        public long getTotal() {
+            return successful + failed + timedOut;
+        }
+
+        public long getSuccessful() {
+            return successful;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getTimedOut() {
+            return timedOut;
+        }
+
+        public long getShed() {
+            return shed;
+        }
+
+        /**
+         * Failed or timed out, as a percentage of processed submissions
+         */
+        public double getFailureRate() {
+            long total = getTotal();
+            if (total == 0) return 0.0;
+            return ((double) (failed + timedOut) / total) * 100;
+        }
+
+        /**
+         * Mean queue wait + service time of the group's processed submissions
+         */
+        public double getMeanLatencyMillis() {
+            long total = getTotal();
+            return total == 0 ? 0.0 : latencySumNanos / (total * 1_000_000.0);
+        }
+
+        public double getMaxLatencyMillis() {
+            return latencyMaxNanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package scenario1;
+
+/**
+ * Race between a primary submission attempt and its hedge
+ *
+ * The primary runs on the submitting thread; the hedge runs elsewhere and,
+ * if it succeeds first, interrupts the primary so the worker is freed
+ * immediately instead of waiting for the slow attempt to finish
+ *
+ * THREAD SAFETY: both sides synchronize on this object, so a hedge can
+ * only interrupt the primary while it is still inside its attempt and
+ * the interrupt never leaks into the worker's next task
+ */
+class HedgedAttempt {
+    private final Thread primaryThread;
+    private boolean primaryRunning = true;
+    private boolean hedgeWon;
+
+    HedgedAttempt(Thread primaryThread) {
+        this.primaryThread = primaryThread;
+    }
+
+    /**
+     * Called by the hedge when its attempt succeeds
+     */
+    synchronized void hedgeSucceeded() {
+        hedgeWon = true;
+        if (primaryRunning) {
+            primaryThread.interrupt();
+        }
+    }
+
+    /**
+     * Whether a hedge is still worth starting
+     */
+    synchronized boolean isPrimaryRunning() {
+        return primaryRunning;
+    }
+
+    /**
+     * Called by the primary once its attempt ends (normally or by interrupt)
+     * Clears any interrupt delivered by the hedge
+     * @return true if the hedge succeeded first
+     */
+    synchronized boolean primaryFinished() {
+        primaryRunning = false;
+        if (hedgeWon) {
+            Thread.interrupted();
+        }
+        return hedgeWon;
+    }
+}
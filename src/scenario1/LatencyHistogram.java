@@ -0,0 +1,211 @@
+package scenario1;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent, fixed-memory latency histogram (values in nanoseconds)
+ *
+ * Log-linear buckets: values below 128 are exact, above that every
+ * power of two is split into 64 sub-buckets (~1.6% relative error).
+ * 3,712 buckets cover the whole positive long range in ~30 KB per stripe,
+ * no matter how many values are recorded
+ *
+ * THREAD SAFETY: buckets are striped by thread so concurrent writers
+ * rarely touch the same cache line; stripes are merged on read.
+ * Count/sum/max use LongAdder/LongAccumulator for the same reason
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;       // 64
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;           // 128
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (62 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder totalCount;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+
+    /**
+     * Constructor creates an empty histogram, one stripe per core (max 16)
+     */
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor with explicit striping
+     * @param concurrency Expected concurrent writers (rounded up to a power of two)
+     */
+    public LatencyHistogram(int concurrency) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, MAX_STRIPES)) * 2 - 1);
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.totalCount = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Record one latency value
+     * @param nanos Latency in nanoseconds (negative values count as 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        stripes[stripeIndex()].incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Merge all stripes into a snapshot
+     * Never blocks writers; values recorded during the merge may or may
+     * not be included
+     */
+    public Snapshot snapshot() {
+        long[] merged = new long[BUCKET_COUNT];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                merged[i] += stripe.get(i);
+            }
+        }
+        return new Snapshot(merged, totalCount.sum(), totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * Clear all recorded values (for testing)
+     */
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                stripe.set(i, 0);
+            }
+        }
+        totalCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Pick a stripe from the thread id (Fibonacci hashing spreads
+     * sequential pool thread ids across stripes)
+     */
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & stripeMask;
+    }
+
+    /**
+     * Map a value to its bucket
+     */
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Highest value that maps to a bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKET_COUNT + 1;
+        long top = (offset % SUB_BUCKET_COUNT) + SUB_BUCKET_COUNT;
+        return ((top + 1) << shift) - 1;
+    }
+
+    /**
+     * Immutable point-in-time view of a histogram
+     */
+    public static class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+
+        Snapshot(long[] counts, long count, long sumNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) sumNanos / count;
+        }
+
+        /**
+         * Value at a percentile (0-100), reported as the bucket upper bound
+         * and never above the exact recorded maximum
+         */
+        public long getValueAtPercentile(double percentile) {
+            long bucketTotal = 0;
+            for (long c : counts) {
+                bucketTotal += c;
+            }
+            if (bucketTotal == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * bucketTotal);
+            rank = Math.max(1, rank);
+
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * Values recorded after an earlier snapshot of the same histogram
+         * (e.g. the last second of a run); max is the highest non-empty
+         * bucket, capped by the overall max
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            long highest = 0;
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = Math.max(0, counts[i] - earlier.counts[i]);
+                if (delta[i] > 0) {
+                    highest = Math.min(bucketUpperBound(i), maxNanos);
+                }
+            }
+            return new Snapshot(delta, Math.max(0, count - earlier.count),
+                    Math.max(0, sumNanos - earlier.sumNanos), highest);
+        }
+
+        /**
+         * Percentile converted to milliseconds (for reports)
+         */
+        public double getPercentileMillis(double percentile) {
+            return getValueAtPercentile(percentile) / 1_000_000.0;
+        }
+    }
+}
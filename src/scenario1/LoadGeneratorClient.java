@@ -0,0 +1,278 @@
+package scenario1;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loopback load generator for SubmissionServer
+ *
+ * Simulates many concurrent students over a few TCP connections: each
+ * connection pipelines up to `depth` outstanding requests, so
+ * connections x depth students are in flight at once (e.g. 100 x 200 =
+ * 20,000). One selector thread drives every connection
+ *
+ * Students are spread round-robin over the connections. A BUSY answer puts
+ * the student back in that connection's queue, pauses its sending for
+ * BUSY_BACKOFF and halves how many requests it keeps outstanding; each
+ * final answer grows that back by 1/outstanding (AIMD), so clients settle
+ * at what the server's in-flight window admits instead of hammering it
+ *
+ * Latency is measured per student from the first time its frame is written
+ * until its final (non-BUSY) response is read, so it includes ingress,
+ * BUSY retries, queueing and service
+ *
+ * Usage:
+ *   java scenario1.LoadGeneratorClient --students=50000 --connections=100 --depth=200
+ *        [--host=127.0.0.1 --port=9090]      connect to a running SubmissionServer
+ *        [--mode=VIRTUAL_THREADS --pool=N --submit-ms=N]   or (no --port) start one in-process
+ */
+public class LoadGeneratorClient {
+    private static final long BUSY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int BUFFER_BYTES = 16 * 1024;
+
+    private final InetSocketAddress address;
+    private final int students;
+    private final int connections;
+    private final int depth;
+
+    private final long[] sentNanos;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final long[] resultCounts = new long[SubmissionResult.values().length];
+    private int completed;
+    private long busyRetries;
+    private long elapsedNanos;
+
+    /**
+     * Constructor
+     * @param depth Outstanding requests per connection
+     */
+    public LoadGeneratorClient(InetSocketAddress address, int students, int connections, int depth) {
+        this.address = address;
+        this.students = students;
+        this.connections = Math.min(connections, students);
+        this.depth = depth;
+        this.sentNanos = new long[students + 1];
+    }
+
+    /**
+     * Send every student once and wait for all final answers
+     */
+    public void run() throws IOException {
+        try (Selector selector = Selector.open()) {
+            ClientConnection[] clients = new ClientConnection[connections];
+            for (int c = 0; c < connections; c++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.configureBlocking(false);
+                clients[c] = new ClientConnection(channel, c + 1);
+                channel.register(selector, SelectionKey.OP_READ, clients[c]);
+            }
+
+            long start = System.nanoTime();
+            for (ClientConnection client : clients) {
+                client.send(start);
+            }
+            while (completed < students) {
+                selector.select(1);
+                long now = System.nanoTime();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    ClientConnection client = (ClientConnection) key.attachment();
+                    if (key.isReadable()) {
+                        client.receive(now);
+                    }
+                }
+                for (ClientConnection client : clients) {
+                    client.send(now);
+                }
+            }
+            elapsedNanos = System.nanoTime() - start;
+
+            for (ClientConnection client : clients) {
+                client.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Print client-side throughput and latency
+     */
+    public void printReport() {
+        LatencyHistogram.Snapshot snapshot = latency.snapshot();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.println("\n" + "=".repeat(70));
+        System.out.println("     LOAD GENERATOR (client side)");
+        System.out.println("=".repeat(70));
+        System.out.printf("Students / connections      : %,d / %,d (depth %,d)%n", students, connections, depth);
+        System.out.printf("Elapsed                     : %,d ms%n", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        System.out.printf("Throughput                  : %.2f submissions/second%n",
+                seconds > 0 ? students / seconds : 0.0);
+        for (SubmissionResult result : SubmissionResult.values()) {
+            if (result != SubmissionResult.BUSY) {
+                System.out.printf("%-28s: %,d%n", result.name().charAt(0) + result.name().substring(1).toLowerCase(),
+                        resultCounts[result.ordinal()]);
+            }
+        }
+        System.out.printf("BUSY answers (resent)       : %,d%n", busyRetries);
+        System.out.printf("Round trip (ms)             : p50 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n",
+                snapshot.getPercentileMillis(50.0), snapshot.getPercentileMillis(99.0),
+                snapshot.getPercentileMillis(99.9), snapshot.getMaxNanos() / 1_000_000.0);
+        System.out.println("=".repeat(70));
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency.snapshot();
+    }
+
+    /**
+     * One pipelined connection and the students assigned to it
+     */
+    private final class ClientConnection {
+        private final SocketChannel channel;
+        private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        private int nextStudent;            // next fresh id (step = connections)
+        private int[] retryQueue = new int[16];
+        private int retryHead;
+        private int retryCount;
+        private int outstanding;
+        private double allowedOutstanding = depth;
+        private long pausedUntilNanos;
+
+        ClientConnection(SocketChannel channel, int firstStudent) {
+            this.channel = channel;
+            this.nextStudent = firstStudent;
+            writeBuffer.flip();
+        }
+
+        /**
+         * Top the pipeline up to the allowed depth and write what the socket takes
+         */
+        void send(long now) throws IOException {
+            writeBuffer.compact();
+            if (now - pausedUntilNanos >= 0) {
+                while (outstanding < (int) allowedOutstanding
+                        && writeBuffer.remaining() >= SubmissionServer.FRAME_BYTES) {
+                    int studentId;
+                    if (retryCount > 0) {
+                        studentId = retryQueue[retryHead];
+                        retryHead = (retryHead + 1) % retryQueue.length;
+                        retryCount--;
+                    } else if (nextStudent <= students) {
+                        studentId = nextStudent;
+                        nextStudent += connections;
+                    } else {
+                        break;
+                    }
+                    writeBuffer.putInt(studentId).putInt(0);
+                    if (sentNanos[studentId] == 0) {
+                        sentNanos[studentId] = now;     // first attempt; resends keep it
+                    }
+                    outstanding++;
+                }
+            }
+            writeBuffer.flip();
+            channel.write(writeBuffer);
+        }
+
+        void receive(long now) throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                throw new IOException("Server closed the connection");
+            }
+            readBuffer.flip();
+            while (readBuffer.remaining() >= SubmissionServer.FRAME_BYTES) {
+                int studentId = readBuffer.getInt();
+                SubmissionResult result = SubmissionResult.fromCode(readBuffer.getInt());
+                outstanding--;
+                if (result == SubmissionResult.BUSY) {
+                    busyRetries++;
+                    requeue(studentId);
+                    pausedUntilNanos = now + BUSY_BACKOFF_NANOS;
+                    allowedOutstanding = Math.max(1.0, allowedOutstanding / 2);
+                    continue;
+                }
+                allowedOutstanding = Math.min(depth, allowedOutstanding + 1.0 / allowedOutstanding);
+                latency.record(now - sentNanos[studentId]);
+                resultCounts[result.ordinal()]++;
+                completed++;
+            }
+            readBuffer.compact();
+        }
+
+        private void requeue(int studentId) {
+            if (retryCount == retryQueue.length) {
+                int[] grown = new int[retryQueue.length * 2];
+                for (int i = 0; i < retryCount; i++) {
+                    grown[i] = retryQueue[(retryHead + i) % retryQueue.length];
+                }
+                retryQueue = grown;
+                retryHead = 0;
+            }
+            retryQueue[(retryHead + retryCount) % retryQueue.length] = studentId;
+            retryCount++;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "127.0.0.1";
+        int port = 0;
+        int students = 10_000;
+        int connections = 50;
+        int depth = 100;
+        ExecutionMode mode = ExecutionMode.VIRTUAL_THREADS;
+        int poolSize = 0;
+        int submitMs = Student.DEFAULT_MAX_SUBMIT_TIME_MS;
+        for (String arg : args) {
+            String[] option = BatchRunner.splitOption(arg);
+            String key = option[0];
+            String value = option[1];
+            switch (key) {
+                case "host": host = value; break;
+                case "port": port = BatchRunner.parseNonNegative(key, value); break;
+                case "students": students = BatchRunner.parsePositive(key, value); break;
+                case "connections": connections = BatchRunner.parsePositive(key, value); break;
+                case "depth": depth = BatchRunner.parsePositive(key, value); break;
+                case "mode": mode = BatchRunner.parseModes(value).get(0); break;
+                case "pool": poolSize = BatchRunner.parseNonNegative(key, value); break;
+                case "submit-ms": submitMs = BatchRunner.parseNonNegative(key, value); break;
+                default: throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+
+        // No --port: run the server in-process on an ephemeral loopback port
+        NewSubmissionSystem system = null;
+        SubmissionServer server = null;
+        if (port == 0) {
+            system = new NewSubmissionSystem(mode, poolSize, students);
+            system.setMaxSubmitTimeMs(submitMs);
+            system.startServing();
+            server = new SubmissionServer(system, new InetSocketAddress("127.0.0.1", 0));
+            server.start();
+            port = server.getPort();
+        }
+
+        LoadGeneratorClient client = new LoadGeneratorClient(
+                new InetSocketAddress(host, port), students, connections, depth);
+        try {
+            client.run();
+            client.printReport();
+        } finally {
+            if (server != null) {
+                server.close();
+                system.stopServing();
+                system.displayResults();
+                system.shutdown();
+            }
+        }
+    }
+}
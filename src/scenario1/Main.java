@@ -1,5 +1,8 @@
 package scenario1;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
@@ -16,6 +19,14 @@ public class Main {
         System.out.println("║   Concurrent Exam Submission Handler                   ║");
         System.out.println("╚════════════════════════════════════════════════════════╝\n");
 
+        // Optional write-ahead journal (-Djournal.dir=DIR); recover the previous run first
+        String journalDir = System.getProperty("journal.dir");
+        Path journalPath = journalDir != null ? Paths.get(journalDir) : null;
+        StudentIdIndex alreadySubmitted = new StudentIdIndex();
+        if (journalPath != null) {
+            recoverJournal(journalPath, alreadySubmitted);
+        }
+
         // Test scenarios menu
         System.out.println("Select test scenario:");
         System.out.println("1. Small load (1,000 students)");
@@ -46,13 +57,91 @@ public class Main {
                 numberOfStudents = 5000;
         }
 
-        // Calculate optimal thread pool size
-        int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        // Execution mode menu
+        System.out.println("\nSelect execution mode:");
+        System.out.println("1. Fixed thread pool (2× CPU cores)");
+        System.out.println("2. Virtual threads (one per submission)");
+        System.out.println("3. Fork/join (work-stealing, id range split recursively)");
+        System.out.print("\nEnter choice (1-3): ");
+
+        ExecutionMode mode;
+        int poolSize;
+
+        switch (scanner.nextInt()) {
+            case 2:
+                mode = ExecutionMode.VIRTUAL_THREADS;
+                System.out.print("Max concurrent submissions (0 = default window): ");
+                poolSize = scanner.nextInt();
+                break;
+            case 3:
+                mode = ExecutionMode.FORK_JOIN;
+                // Parallelism; blocked submissions are compensated up to the window
+                poolSize = Runtime.getRuntime().availableProcessors() * 2;
+                break;
+            case 1:
+                mode = ExecutionMode.FIXED_POOL;
+                // Calculate optimal thread pool size
+                poolSize = Runtime.getRuntime().availableProcessors() * 2;
+                break;
+            default:
+                System.out.println("Invalid choice. Using fixed thread pool.");
+                mode = ExecutionMode.FIXED_POOL;
+                poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        }
+
+        // Adaptive limit: let the system find its own in-flight limit
+        System.out.print("Adaptive concurrency limit? (1 = yes, 0 = no): ");
+        boolean adaptive = scanner.nextInt() == 1;
+
+        SubmissionWindow window = adaptive
+                ? NewSubmissionSystem.adaptiveWindow(mode, poolSize)
+                : new SubmissionWindow(NewSubmissionSystem.defaultWindowSize(mode, poolSize));
+
+        System.out.print("Retry failed submissions? (1 = yes, 0 = no): ");
+        boolean retry = scanner.nextInt() == 1;
+
+        System.out.print("Per-submission timeout in ms (0 = none): ");
+        long timeoutMs = Math.max(0, scanner.nextLong());
 
         // Create and run system
-        NewSubmissionSystem system = new NewSubmissionSystem(poolSize, numberOfStudents);
+        NewSubmissionSystem system = new NewSubmissionSystem(mode, poolSize, numberOfStudents, window);
+        if (retry) {
+            system.setRetryPolicy(RetryPolicy.defaults());
+        }
+        system.setSubmissionTimeoutMs(timeoutMs);
+        // Students accepted by a previous run are not processed again
+        system.setSubmittedIds(alreadySubmitted);
 
+        SubmissionJournal journal = null;
         try {
+            if (journalPath != null) {
+                journal = new SubmissionJournal(journalPath);
+                system.setJournal(journal);
+            }
+            // Optional exam file uploads (-Dpayload.kb=N [-Dpayload.dir=DIR])
+            int payloadKb = Integer.getInteger("payload.kb", 0);
+            if (payloadKb > 0) {
+                Path payloadRoot = Paths.get(System.getProperty("payload.dir", "payloads"));
+                System.out.println("Preparing exam file corpus...");
+                system.setPayloads(
+                        PayloadCorpus.generate(payloadRoot.resolve("corpus"), 1000, payloadKb * 1024, 42L),
+                        new PayloadStore(payloadRoot.resolve("store")));
+            }
+            // Optional per-course / per-hall breakdown (-Dcourses=N [-Dhalls=N])
+            int courses = Integer.getInteger("courses", 0);
+            if (courses > 0) {
+                system.setCourseCatalog(CourseCatalog.generate(courses, Integer.getInteger("halls", 4)));
+            }
+            // Optional exam deadlines (-Dexam.deadlines=MS,MS.. [-Dscheduling=EDF] [-Dshed=true])
+            String examDeadlines = System.getProperty("exam.deadlines");
+            if (examDeadlines != null) {
+                system.setExamDeadlines(ExamDeadlines.parse(examDeadlines));
+                system.setSchedulingPolicy(SchedulingPolicy.valueOf(
+                        System.getProperty("scheduling", "FIFO").trim().toUpperCase()));
+                system.setShedHopeless(Boolean.getBoolean("shed"));
+            }
+            // Optional live progress, also published over JMX (-Dprogress.ms=N)
+            system.setProgressIntervalMs(Long.getLong("progress.ms", 0L));
             system.processSubmissions();
             system.displayResults();
         } catch (Exception e) {
@@ -65,6 +154,7 @@ public class Main {
                 System.err.println("Shutdown interrupted");
                 Thread.currentThread().interrupt();
             }
+            closeJournal(journal);
         }
 
         scanner.close();
@@ -85,4 +175,36 @@ public class Main {
         System.out.println("  - 60-90× faster!\n");
         */
     }
+
+    /**
+     * Rebuild and show the outcomes recorded by a previous (possibly crashed) run
+     */
+    private static void recoverJournal(Path journalPath, StudentIdIndex alreadySubmitted) {
+        SubmissionStats recovered = new SubmissionStats();
+        try {
+            long records = SubmissionJournal.recover(journalPath, recovered, alreadySubmitted);
+            if (records > 0) {
+                System.out.printf("✓ Recovered %,d journal records from %s: %,d successful, %,d failed, %,d timed out%n%n",
+                        records, journalPath, recovered.getSuccessfulSubmissions(),
+                        recovered.getFailedSubmissions(), recovered.getTimedOutSubmissions());
+            }
+        } catch (IOException e) {
+            System.err.println("Cannot read journal: " + e.getMessage());
+        }
+    }
+
+    private static void closeJournal(SubmissionJournal journal) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+            long syncs = journal.getSyncCount();
+            System.out.printf("Journal: %,d records, %,d fsyncs (%.1f records per fsync)%n",
+                    journal.getRecordCount(), syncs,
+                    syncs == 0 ? 0.0 : (double) journal.getRecordCount() / syncs);
+        } catch (IOException e) {
+            System.err.println("Journal close failed: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,18 +1,101 @@
 package scenario1;
 
+import logging.AsyncLogger;
+import logging.LogLevel;
+
+import java.io.IOException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
 
 /**
  * Concurrent submission system that processes student submissions in parallel
  * Replaces old sequential system that caused 20-30 minute wait times
  *
- * CONCURRENCY PATTERN: Thread Pool with CountDownLatch coordination
+ * CONCURRENCY PATTERN: Thread Pool fed through a bounded in-flight window
+ * (FORK_JOIN: the id range is split recursively on a work-stealing pool)
+ *
+ * HOT PATH: with the default settings a submission allocates nothing on
+ * the heap - ids stay primitive, task objects are recycled, the fixed pool
+ * queues in an array, and names are only formatted when a line is logged.
+ * Optional features (retries with hedging, timeouts, journal, payloads)
+ * and VIRTUAL_THREADS (a thread per submission) still allocate
+ *
+ * SCHEDULING: queued submissions start in arrival order (FIFO) or, with
+ * exam deadlines set, earliest deadline first (EDF); optionally those that
+ * can no longer finish before their deadline are shed
  */
 public class NewSubmissionSystem {
+    private static final AsyncLogger LOG = AsyncLogger.shared();
+
     private final int numberOfStudents;
     private final int poolSize;
+    private final ExecutionMode mode;
     private final SubmissionStats stats;
-    private final ExecutorService executor;
+    private ExecutorService executor;       // replaced only by setSchedulingPolicy
+
+    private final SubmissionWindow window;
+
+    // Simulation knobs (set before processSubmissions)
+    private volatile boolean verbose = true;
+    private volatile int maxSubmitTimeMs = Student.DEFAULT_MAX_SUBMIT_TIME_MS;
+
+    // Retry/hedging (see setRetryPolicy)
+    private volatile RetryPolicy retryPolicy = RetryPolicy.none();
+    private volatile RetryBudget retryBudget = new RetryBudget(0.0, 0);
+    private ScheduledExecutorService hedgeScheduler;
+    private ExecutorService hedgeExecutor;
+
+    // Deadlines (see setSubmissionTimeoutMs / setRunDeadlineMs)
+    private volatile long submissionTimeoutMs;
+    private volatile long runDeadlineMs;
+    private volatile boolean runDeadlineExpired;
+    private ScheduledExecutorService timeoutScheduler;
+    private final Set<SubmissionDeadline> activeDeadlines = ConcurrentHashMap.newKeySet();
+
+    // Students already submitted or in flight (duplicates are skipped)
+    private volatile StudentIdIndex submittedIds = new StudentIdIndex();
+
+    // Write-ahead journal (see setJournal), null = in-memory only
+    private volatile SubmissionJournal journal;
+
+    // Exam file uploads (see setPayloads), null = no payloads
+    private volatile PayloadCorpus payloadCorpus;
+    private volatile PayloadStore payloadStore;
+
+    // Deadline scheduling (see setExamDeadlines / setSchedulingPolicy / setShedHopeless)
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private volatile ExamDeadlines examDeadlines;
+    private volatile SchedulingPolicy schedulingPolicy = SchedulingPolicy.FIFO;
+    private volatile boolean shedHopeless;
+    private volatile long runStartNanos;
+    // Moving average of service time; updated without a lock (a lost update only delays it)
+    private volatile long serviceEstimateNanos;
+    private final AtomicLong taskSequence = new AtomicLong();
+
+    // Per-course / per-hall breakdown (see setCourseCatalog), null = off
+    private volatile CourseCatalog courseCatalog;
+    private volatile GroupedStats courseStats;
+    private volatile GroupedStats hallStats;
+
+    // Live progress (sampled off the hot path, also exposed over JMX)
+    private volatile long progressIntervalMs;
+    private ProgressReporter progressReporter;
+    private final LongAdder rangeInFlight = new LongAdder();   // FORK_JOIN bypasses the window
+
+    // Recycled SubmissionTasks (Treiber stack; pops are serialised by taskPopLock, see newTask)
+    private final AtomicReference<SubmissionTask> freeTasks = new AtomicReference<>();
+    private final Object taskPopLock = new Object();
+    // One reusable ManagedBlocker per fork/join worker
+    private final ThreadLocal<SubmissionBlocker> blockers = ThreadLocal.withInitial(SubmissionBlocker::new);
+
+    // Default window: enough queued work to keep every pool thread busy
+    private static final int WINDOW_PER_POOL_THREAD = 4;
+    private static final int DEFAULT_VIRTUAL_WINDOW = 10_000;
 
     /**
      * Constructor
@@ -20,17 +103,44 @@ public class NewSubmissionSystem {
      * @param numberOfStudents Total students submitting
      */
     public NewSubmissionSystem(int poolSize, int numberOfStudents) {
+        this(ExecutionMode.FIXED_POOL, poolSize, numberOfStudents);
+    }
+
+    /**
+     * Constructor with selectable execution mode
+     * @param mode FIXED_POOL, VIRTUAL_THREADS or FORK_JOIN
+     * @param poolSize Pool size for FIXED_POOL; parallelism for FORK_JOIN;
+     *                 concurrency cap for VIRTUAL_THREADS (0 or less = default window)
+     * @param numberOfStudents Total students submitting
+     */
+    public NewSubmissionSystem(ExecutionMode mode, int poolSize, int numberOfStudents) {
+        this(mode, poolSize, numberOfStudents, defaultWindowSize(mode, poolSize));
+    }
+
+    /**
+     * Constructor with explicit in-flight window
+     * @param mode FIXED_POOL or VIRTUAL_THREADS
+     * @param poolSize Pool size for FIXED_POOL (ignored for VIRTUAL_THREADS)
+     * @param numberOfStudents Total students submitting
+     * @param maxInFlight Maximum submissions queued or running at once
+     */
+    public NewSubmissionSystem(ExecutionMode mode, int poolSize, int numberOfStudents, int maxInFlight) {
+        this(mode, poolSize, numberOfStudents, new SubmissionWindow(maxInFlight));
+    }
+
+    /**
+     * Constructor with a caller-supplied window
+     * (e.g. AdaptiveSubmissionWindow, see adaptiveWindow())
+     */
+    public NewSubmissionSystem(ExecutionMode mode, int poolSize, int numberOfStudents, SubmissionWindow window) {
+        this.mode = mode;
         this.poolSize = poolSize;
         this.numberOfStudents = numberOfStudents;
         this.stats = new SubmissionStats();
-        this.executor = Executors.newFixedThreadPool(poolSize);
-
-        System.out.println("\n╔════════════════════════════════════════════════════════╗");
-        System.out.println("║   NEW CONCURRENT SUBMISSION SYSTEM INITIALIZED         ║");
-        System.out.println("╚════════════════════════════════════════════════════════╝");
-        System.out.printf("Thread Pool Size: %d%n", poolSize);
-        System.out.printf("Target Capacity: %,d students%n", numberOfStudents);
-        System.out.println("-".repeat(60) + "\n");
+        this.stats.setExecutionMode(mode);
+        this.window = window;
+        this.executor = mode.createExecutor(poolSize, SchedulingPolicy.FIFO, window.getMaxLimit());
+        this.stats.setConcurrencyLimitGauge(window::getLimit);
     }
 
     /**
@@ -40,67 +150,954 @@ public class NewSubmissionSystem {
      * submitted to thread pool for concurrent execution
      *
      * ORIGINAL BUG: Lecturer's code had one task with sequential loop
+     *
+     * FORK_JOIN: students 1..N are one range task that splits itself
+     * (see processRange); other modes stream the ids one task each
      */
     public void processSubmissions() {
-        System.out.printf("Processing %,d student submissions concurrently...%n%n", numberOfStudents);
-
-        stats.setStartTime();
+        if (mode == ExecutionMode.FORK_JOIN) {
+            processRange(1, numberOfStudents);
+        } else {
+            processSubmissions(IntStream.rangeClosed(1, numberOfStudents).iterator());
+        }
+    }
 
-        // CountDownLatch: Wait for all submissions to complete
-        CountDownLatch latch = new CountDownLatch(numberOfStudents);
+    /**
+     * Process a contiguous id range on the fork/join pool
+     *
+     * No per-student queue insertion, window slot or Future: the range is
+     * halved until it is LEAF_SIZE ids, idle workers steal halves from busy
+     * ones, and each leaf runs its students in turn. Submissions block
+     * inside ForkJoinPool.managedBlock(), so the pool starts spare threads
+     * (up to ExecutionMode.maxForkJoinThreads) while workers sleep
+     */
+    private void processRange(int firstId, int lastId) {
+        if (verbose) {
+            printBanner();
+            System.out.printf("Processing %,d student submissions by range splitting...%n%n",
+                    lastId - firstId + 1);
+        }
 
-        // ✅ CORRECT: Submit EACH student as separate concurrent task
-        for (int i = 1; i <= numberOfStudents; i++) {
-            final int studentId = i;
-            final String studentName = "Student_" + i;
+        startRun();
+        long runDeadlineNanos = runDeadlineMs > 0
+                ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(runDeadlineMs)
+                : Long.MAX_VALUE;
+        ForkJoinTask<Void> root = ((ForkJoinPool) executor).submit(new SubmissionRange(firstId, lastId));
 
-            // Each submit() call adds task to pool for concurrent execution
-            executor.submit(() -> {
-                try {
-                    // Create student and process submission
-                    Student student = new Student(studentId, studentName);
-                    boolean success = student.submitExam();
-
-                    // Record result
-                    if (success) {
-                        stats.recordSuccess();
-                    } else {
-                        stats.recordFailure();
-                        // Only log failures to reduce output volume
-                        System.out.printf("✗ %s submission failed (timeout/error)%n", studentName);
-                    }
-
-                } catch (InterruptedException e) {
-                    stats.recordFailure();
-                    System.err.printf("✗ %s submission interrupted%n", studentName);
-                    Thread.currentThread().interrupt();
-                } catch (Exception e) {
-                    stats.recordFailure();
-                    System.err.printf("✗ %s submission error: %s%n", studentName, e.getMessage());
-                } finally {
-                    // Always count down, even if exception
-                    latch.countDown();
+        try {
+            try {
+                if (runDeadlineNanos == Long.MAX_VALUE) {
+                    root.get();
+                } else {
+                    root.get(Math.max(0, runDeadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
                 }
-            });
+            } catch (TimeoutException e) {
+                // Overall deadline: cancel running submissions, leaves skip the rest
+                expireRun();
+                root.get();
+            }
+            stats.setEndTime();
+            stopProgress();
+            LOG.flush();
+            if (verbose) {
+                System.out.println("\n✓ All submissions processed!");
+                if (runDeadlineExpired) {
+                    System.out.printf("⚠ Run deadline of %,d ms reached (%,d students not started)%n",
+                            runDeadlineMs, stats.snapshot().getNotStarted());
+                }
+            }
+        } catch (InterruptedException e) {
+            System.err.println("Submission processing interrupted!");
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Submission processing failed: " + e.getCause());
+        }
+    }
+
+    /**
+     * Process submissions streamed from an id source
+     *
+     * STREAMING: ids are pulled lazily and the producer blocks once the
+     * in-flight window is full, so memory stays flat regardless of how
+     * many students submit (no N queued Runnables/Futures up front)
+     *
+     * @param studentIds Source of student ids (consumed on the calling thread)
+     */
+    public void processSubmissions(PrimitiveIterator.OfInt studentIds) {
+        if (verbose) {
+            printBanner();
+            System.out.printf("Processing %,d student submissions concurrently...%n", numberOfStudents);
+            System.out.printf("In-flight window: %,d submissions%n%n", window.getLimit());
         }
 
-        // Wait for all submissions to complete
+        startRun();
+        long runDeadlineNanos = runDeadlineMs > 0
+                ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(runDeadlineMs)
+                : Long.MAX_VALUE;
+
+        long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
         try {
-            System.out.println("⏳ Waiting for all submissions to complete...\n");
-            latch.await();  // Blocks until latch reaches 0
+            long notStarted = 0;
+            // ✅ CORRECT: Submit EACH student as separate concurrent task
+            while (studentIds.hasNext()) {
+                int studentId = studentIds.nextInt();
+                // Idempotency: a student already submitted (or in flight) costs one CAS
+                if (!submittedIds.markIfAbsent(studentId)) {
+                    stats.recordDuplicate();
+                    continue;
+                }
+                // Backpressure: wait here while the window is full (but not past the run deadline)
+                if (!acquireBefore(runDeadlineNanos)) {
+                    submittedIds.clear(studentId);
+                    notStarted++;
+                    break;
+                }
+                try {
+                    // execute() rather than submit(): no Future per student
+                    executor.execute(newTask(studentId, null));
+                } catch (RejectedExecutionException e) {
+                    submittedIds.clear(studentId);
+                    window.release();
+                    throw e;
+                }
+            }
+
+            // Run deadline hit before every student was handed over
+            while (studentIds.hasNext()) {
+                studentIds.nextInt();
+                notStarted++;
+            }
+            if (notStarted > 0) {
+                stats.recordNotStarted(notStarted);
+            }
+            // Producer side of the hot path (workers record their own)
+            stats.recordAllocation(AllocationMeter.allocatedSince(allocatedBefore));
+
+            // Wait for all submissions to complete
+            if (verbose) {
+                LOG.info("⏳ Waiting for all submissions to complete...\n");
+            }
+            long remainingNanos = runDeadlineNanos - System.nanoTime();
+            if (!window.awaitIdle(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS)) {
+                // Overall deadline: cancel everything still running or queued
+                expireRun();
+                window.awaitIdle();
+            }
             stats.setEndTime();
-            System.out.println("\n✓ All submissions processed!");
+            stopProgress();
+            // Per-submission events first, then the summary lines
+            LOG.flush();
+            if (verbose) {
+                System.out.println("\n✓ All submissions processed!");
+                if (notStarted > 0 || runDeadlineExpired) {
+                    System.out.printf("⚠ Run deadline of %,d ms reached (%,d students not started)%n",
+                            runDeadlineMs, notStarted);
+                }
+            }
         } catch (InterruptedException e) {
             System.err.println("Submission processing interrupted!");
             Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * Accept submissions pushed in through submit() (e.g. by SubmissionServer)
+     * instead of pulling them from an id source
+     */
+    public void startServing() {
+        if (verbose) {
+            printBanner();
+            System.out.printf("Serving submissions, in-flight window: %,d%n%n", window.getLimit());
+        }
+        startRun();
+    }
+
+    /**
+     * Wait for accepted submissions to finish and stop the clock
+     */
+    public void stopServing() throws InterruptedException {
+        window.awaitIdle();
+        stats.setEndTime();
+        stopProgress();
+        LOG.flush();
+    }
+
+    /**
+     * Submit one student without blocking (for network front ends)
+     *
+     * DUPLICATE and BUSY are reported straight away on the calling thread;
+     * accepted submissions report from the worker when they finish
+     *
+     * @param callback Receives the result exactly once
+     */
+    public void submit(int studentId, SubmissionCallback callback) {
+        if (!submittedIds.markIfAbsent(studentId)) {
+            stats.recordDuplicate();
+            callback.onComplete(studentId, SubmissionResult.DUPLICATE);
+            return;
+        }
+        // Never block the caller (a selector thread): a full window is answered with BUSY
+        if (!window.tryAcquire()) {
+            submittedIds.clear(studentId);
+            stats.recordRejected();
+            callback.onComplete(studentId, SubmissionResult.BUSY);
+            return;
+        }
+        try {
+            executor.execute(newTask(studentId, callback));
+        } catch (RejectedExecutionException e) {
+            submittedIds.clear(studentId);
+            window.release();
+            stats.recordRejected();
+            callback.onComplete(studentId, SubmissionResult.BUSY);
+        }
+    }
+
+    /**
+     * Create the helper schedulers this run needs and start the clock
+     */
+    private void startRun() {
+        if (retryPolicy.isHedgingEnabled() && hedgeScheduler == null) {
+            hedgeScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("hedge-timer"));
+            hedgeExecutor = ExecutionMode.VIRTUAL_THREADS.createExecutor(0);
+        }
+
+        if ((submissionTimeoutMs > 0 || runDeadlineMs > 0) && timeoutScheduler == null) {
+            ScheduledThreadPoolExecutor scheduler =
+                    new ScheduledThreadPoolExecutor(1, daemonThreads("submission-timeouts"));
+            scheduler.setRemoveOnCancelPolicy(true);  // cancelled timers leave the queue at once
+            timeoutScheduler = scheduler;
+        }
+        runDeadlineExpired = false;
+        runStartNanos = System.nanoTime();
+        stats.setStartTime();
+        if (progressIntervalMs > 0) {
+            // Quiet runs (BatchRunner) keep stdout for their report
+            progressReporter = new ProgressReporter(this, progressIntervalMs, verbose ? System.out : System.err);
+            progressReporter.start();
+        }
+    }
+
+    /**
+     * Stop the progress reporter of the current run, if any
+     */
+    private void stopProgress() {
+        ProgressReporter reporter = progressReporter;
+        if (reporter != null) {
+            reporter.stop();
+            progressReporter = null;
+        }
+    }
+
+    /**
+     * Acquire a window slot, giving up at the run deadline
+     */
+    private boolean acquireBefore(long deadlineNanos) throws InterruptedException {
+        if (deadlineNanos == Long.MAX_VALUE) {
+            window.acquire();
+            return true;
+        }
+        long remaining = deadlineNanos - System.nanoTime();
+        return remaining > 0 && window.tryAcquire(remaining, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Run deadline reached: interrupt running submissions and make queued
+     * ones time out as soon as they start
+     */
+    private void expireRun() {
+        runDeadlineExpired = true;
+        for (SubmissionDeadline deadline : activeDeadlines) {
+            deadline.expire();
+        }
+    }
+
+    /**
+     * Run one student's submission and record the outcome
+     * Executed on a worker thread
+     *
+     * Failed attempts are retried per the RetryPolicy (jittered backoff,
+     * budget-limited). Service time covers every attempt and backoff.
+     * A submission still running at its deadline is interrupted and
+     * counted as timed out, not failed
+     *
+     * @param enqueuedNanos nanoTime when the task was handed to the executor
+     * @param deadlineNanos nanoTime of the student's exam deadline (NO_DEADLINE = none)
+     * @return SUCCESS, FAILURE, TIMEOUT or SHED
+     */
+    private SubmissionResult processSubmission(int studentId, long enqueuedNanos, long deadlineNanos) {
+        long startedNanos = System.nanoTime();
+        long queueWaitNanos = startedNanos - enqueuedNanos;
+
+        // Still queued when the run deadline passed: give up without doing the work
+        if (runDeadlineExpired) {
+            journal(studentId, SubmissionJournal.Outcome.TIMEOUT, queueWaitNanos, 0);
+            submittedIds.clear(studentId);
+            stats.recordTimeout(queueWaitNanos, 0);
+            return SubmissionResult.TIMEOUT;
+        }
+
+        // Cannot finish before the exam deadline: free the worker for one that can
+        if (shedHopeless && deadlineNanos != NO_DEADLINE
+                && startedNanos + serviceEstimateNanos > deadlineNanos) {
+            submittedIds.clear(studentId);
+            stats.recordShed();
+            if (LOG.isEnabled(LogLevel.DEBUG)) {
+                // Guarded: the varargs array and boxed id would be built even when filtered
+                LOG.debug("⏭ Student_%d shed (cannot meet its exam deadline)", studentId);
+            }
+            return SubmissionResult.SHED;
+        }
+
+        SubmissionDeadline deadline = startDeadline();
+        int attempts = 0;
+        boolean success = false;
+        boolean interrupted = false;
+        Exception error = null;
+        try {
+            // Upload once; only the submission call itself is retried
+            uploadPayload(studentId);
+            retryBudget.onFirstAttempt();
+            while (true) {
+                attempts++;
+                success = attemptSubmission(studentId);
+                if (success || !retryPolicy.canRetry(attempts)) {
+                    break;
+                }
+                // Budget protects the pool from retry storms
+                if (!retryBudget.tryAcquire()) {
+                    stats.recordRetryDenied();
+                    break;
+                }
+                Thread.sleep(retryPolicy.backoffMillis(attempts));
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } catch (Exception e) {
+            error = e;
+        }
+
+        boolean timedOut = finishDeadline(deadline);
+        long finishedNanos = System.nanoTime();
+        long serviceNanos = finishedNanos - startedNanos;
+        serviceEstimateNanos += (serviceNanos - serviceEstimateNanos) >> 3;
+        stats.recordAttempts(attempts, success && !timedOut && !interrupted && error == null);
+
+        // Journal first: the outcome is only counted once it is durable
+        SubmissionJournal.Outcome outcome = timedOut
+                ? SubmissionJournal.Outcome.TIMEOUT
+                : success && !interrupted && error == null
+                        ? SubmissionJournal.Outcome.SUCCESS
+                        : SubmissionJournal.Outcome.FAILURE;
+        journal(studentId, outcome, queueWaitNanos, serviceNanos);
+        if (outcome != SubmissionJournal.Outcome.SUCCESS) {
+            // Not accepted: the student may submit again
+            submittedIds.clear(studentId);
+        } else if (deadlineNanos != NO_DEADLINE) {
+            stats.recordDeadlineOutcome(finishedNanos - deadlineNanos <= 0);
+        }
+
+        // Record result
+        if (timedOut) {
+            stats.recordTimeout(queueWaitNanos, serviceNanos);
+            if (verbose) LOG.info("⌛ Student_%d submission timed out", studentId);
+        } else if (interrupted) {
+            stats.recordFailure(queueWaitNanos, serviceNanos);
+            LOG.error("✗ Student_%d submission interrupted", studentId);
+            Thread.currentThread().interrupt();
+        } else if (error != null) {
+            stats.recordFailure(queueWaitNanos, serviceNanos);
+            LOG.error("✗ Student_%d submission error: %s", studentId, error.getMessage());
+        } else if (success) {
+            stats.recordSuccess(queueWaitNanos, serviceNanos);
+        } else {
+            stats.recordFailure(queueWaitNanos, serviceNanos);
+            // Only log failures to reduce output volume
+            if (verbose) LOG.info("✗ Student_%d submission failed (timeout/error)", studentId);
+        }
+        return timedOut ? SubmissionResult.TIMEOUT
+                : outcome == SubmissionJournal.Outcome.SUCCESS ? SubmissionResult.SUCCESS
+                : SubmissionResult.FAILURE;
+    }
+
+    /**
+     * Store the student's exam file in the content-addressed store
+     * No-op when payloads are off
+     */
+    private void uploadPayload(int studentId) throws IOException {
+        PayloadStore store = payloadStore;
+        PayloadCorpus corpus = payloadCorpus;
+        if (store == null || corpus == null) {
+            return;
+        }
+        PayloadStore.StoredPayload stored = store.store(corpus.fileFor(studentId));
+        stats.recordPayload(stored.getSizeBytes(), stored.isDeduplicated());
+    }
+
+    /**
+     * Append the outcome to the journal and wait for its group commit
+     * No-op when no journal is set
+     */
+    private void journal(int studentId, SubmissionJournal.Outcome outcome,
+                         long queueWaitNanos, long serviceNanos) {
+        SubmissionJournal target = journal;
+        if (target == null) {
+            return;
+        }
+        try {
+            target.appendDurably(studentId, outcome, queueWaitNanos, serviceNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOG.error("✗ Student_%d journal write failed: %s", studentId, e.getMessage());
+        }
+    }
+
+    /**
+     * Arm the per-submission timeout for the current worker
+     * @return null when neither a submission timeout nor a run deadline is set
+     */
+    private SubmissionDeadline startDeadline() {
+        if (submissionTimeoutMs <= 0 && runDeadlineMs <= 0) {
+            return null;
+        }
+        SubmissionDeadline deadline = new SubmissionDeadline(Thread.currentThread());
+        activeDeadlines.add(deadline);
+        if (submissionTimeoutMs > 0) {
+            deadline.setTimer(timeoutScheduler.schedule(
+                    deadline::expire, submissionTimeoutMs, TimeUnit.MILLISECONDS));
+        }
+        // Run deadline may have passed while we registered
+        if (runDeadlineExpired) {
+            deadline.expire();
+        }
+        return deadline;
+    }
+
+    /**
+     * Disarm the deadline
+     * @return true if the submission timed out
+     */
+    private boolean finishDeadline(SubmissionDeadline deadline) {
+        if (deadline == null) {
+            return false;
+        }
+        activeDeadlines.remove(deadline);
+        return deadline.finish();
+    }
+
+    /**
+     * One attempt, hedged if the policy says so
+     *
+     * HEDGING: if the attempt is still running after the hedge delay, a
+     * second attempt starts on the hedge executor; whichever succeeds
+     * first wins and a winning hedge interrupts the slow primary
+     */
+    private boolean attemptSubmission(int studentId) throws InterruptedException {
+        if (!retryPolicy.isHedgingEnabled()) {
+            return Student.simulateSubmission(maxSubmitTimeMs);
+        }
+
+        HedgedAttempt race = new HedgedAttempt(Thread.currentThread());
+        ScheduledFuture<?> hedgeTimer = hedgeScheduler.schedule(
+                () -> launchHedge(studentId, race),
+                retryPolicy.getHedgeDelayMs(), TimeUnit.MILLISECONDS);
+
+        boolean success;
+        try {
+            success = Student.simulateSubmission(maxSubmitTimeMs);
+        } catch (InterruptedException e) {
+            if (race.primaryFinished()) {
+                stats.recordHedgeWin();
+                return true;
+            }
+            throw e;
+        } finally {
+            hedgeTimer.cancel(false);
+        }
+
+        if (race.primaryFinished()) {
+            stats.recordHedgeWin();
+            return true;
+        }
+        return success;
+    }
+
+    /**
+     * Start a hedge attempt (runs on the hedge scheduler thread)
+     */
+    private void launchHedge(int studentId, HedgedAttempt race) {
+        if (!race.isPrimaryRunning() || !retryBudget.tryAcquire()) {
+            return;
+        }
+        stats.recordHedgeLaunched();
+        hedgeExecutor.execute(() -> {
+            try {
+                if (Student.simulateSubmission(maxSubmitTimeMs)) {
+                    race.hedgeSucceeded();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Run one submission on the current thread
+     * On a fork/join worker it runs inside managedBlock(), so the pool can
+     * start a spare worker while this one sleeps in submitExam()
+     */
+    private SubmissionResult runSubmission(int studentId, long enqueuedNanos, long deadlineNanos) {
+        SubmissionResult result;
+        if (!(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+            result = processSubmission(studentId, enqueuedNanos, deadlineNanos);
+        } else {
+            SubmissionBlocker blocker = blockers.get();
+            blocker.reset(studentId, enqueuedNanos, deadlineNanos);
+            try {
+                ForkJoinPool.managedBlock(blocker);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            result = blocker.result != null ? blocker.result : SubmissionResult.FAILURE;
+        }
+        recordGroups(studentId, result, System.nanoTime() - enqueuedNanos);
+        return result;
+    }
+
+    /**
+     * Add the outcome to the student's course and hall (no-op without a catalog)
+     */
+    private void recordGroups(int studentId, SubmissionResult result, long totalNanos) {
+        CourseCatalog catalog = courseCatalog;
+        if (catalog == null) {
+            return;
+        }
+        courseStats.record(catalog.courseOf(studentId), result, totalNanos);
+        hallStats.record(catalog.hallOf(studentId), result, totalNanos);
+    }
+
+    /**
+     * One submission as a ForkJoinPool.ManagedBlocker
+     * Reused by its worker thread for every submission it runs
+     */
+    private final class SubmissionBlocker implements ForkJoinPool.ManagedBlocker {
+        private int studentId;
+        private long enqueuedNanos;
+        private long deadlineNanos;
+        private SubmissionResult result;
+
+        void reset(int studentId, long enqueuedNanos, long deadlineNanos) {
+            this.studentId = studentId;
+            this.enqueuedNanos = enqueuedNanos;
+            this.deadlineNanos = deadlineNanos;
+            this.result = null;
+        }
+
+        @Override
+        public boolean block() {
+            result = processSubmission(studentId, enqueuedNanos, deadlineNanos);
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return result != null;
+        }
+    }
+
+    /**
+     * Students firstId..lastId (inclusive) as one fork/join task
+     *
+     * Splits in half until LEAF_SIZE ids remain, then runs them in order.
+     * Queue wait of a student is measured from when its leaf was created
+     */
+    private final class SubmissionRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF_SIZE = 16;
+
+        private final int firstId;
+        private final int lastId;
+        private final long createdNanos = System.nanoTime();
+
+        SubmissionRange(int firstId, int lastId) {
+            this.firstId = firstId;
+            this.lastId = lastId;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastId - firstId >= LEAF_SIZE) {
+                long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+                int middle = (firstId + lastId) >>> 1;
+                SubmissionRange lower = new SubmissionRange(firstId, middle);
+                SubmissionRange upper = new SubmissionRange(middle + 1, lastId);
+                stats.recordAllocation(AllocationMeter.allocatedSince(allocatedBefore));
+                invokeAll(lower, upper);
+                return;
+            }
+            for (int studentId = firstId; studentId <= lastId; studentId++) {
+                // Run deadline passed: the rest of this leaf never starts
+                if (runDeadlineExpired) {
+                    stats.recordNotStarted(lastId - studentId + 1);
+                    return;
+                }
+                if (!submittedIds.markIfAbsent(studentId)) {
+                    stats.recordDuplicate();
+                    continue;
+                }
+                long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+                rangeInFlight.increment();
+                try {
+                    runSubmission(studentId, createdNanos, deadlineFor(studentId));
+                } finally {
+                    rangeInFlight.decrement();
+                }
+                stats.recordAllocation(AllocationMeter.allocatedSince(allocatedBefore));
+            }
+        }
+    }
+
+    /**
+     * Exam deadline of a student as a nanoTime, NO_DEADLINE if none are set
+     */
+    private long deadlineFor(int studentId) {
+        ExamDeadlines deadlines = examDeadlines;
+        if (deadlines == null) {
+            return NO_DEADLINE;
+        }
+        return runStartNanos + TimeUnit.MILLISECONDS.toNanos(deadlines.deadlineMsFor(studentId));
+    }
+
+    /**
+     * Take a recycled task (or create one) and point it at a student
+     *
+     * POOL: lock-free push in recycle(); pops take taskPopLock, because a
+     * Treiber stack whose nodes are reused is only ABA-safe with a single
+     * popper (there is normally just one producer, so the lock is uncontended)
+     */
+    private SubmissionTask newTask(int studentId, SubmissionCallback callback) {
+        SubmissionTask task;
+        synchronized (taskPopLock) {
+            do {
+                task = freeTasks.get();
+            } while (task != null && !freeTasks.compareAndSet(task, task.nextFree));
+        }
+        if (task == null) {
+            task = new SubmissionTask();
+        }
+        task.nextFree = null;
+        task.reset(studentId, callback);
+        return task;
+    }
+
+    /**
+     * Return a finished task to the pool
+     */
+    private void recycle(SubmissionTask task) {
+        SubmissionTask head;
+        do {
+            head = freeTasks.get();
+            task.nextFree = head;
+        } while (!freeTasks.compareAndSet(head, task));
+    }
+
+    /**
+     * Task for a single student
+     * Holds only the primitive id, enqueue time and deadline; recycled
+     * after it runs, so at most about one task per in-flight slot exists
+     *
+     * ORDERING: earliest deadline first, then arrival order (used by the
+     * EDF executor's priority queue; FIFO executors ignore it)
+     */
+    private final class SubmissionTask implements Runnable, Comparable<SubmissionTask> {
+        private int studentId;
+        private long enqueuedNanos;
+        private long deadlineNanos;
+        private long sequence;
+        private SubmissionCallback callback;
+        private SubmissionTask nextFree;    // link while in the pool
+
+        /**
+         * Point the task at a student (executor hand-off publishes the fields)
+         */
+        void reset(int studentId, SubmissionCallback callback) {
+            this.studentId = studentId;
+            this.enqueuedNanos = System.nanoTime();
+            this.deadlineNanos = deadlineFor(studentId);
+            this.sequence = taskSequence.getAndIncrement();
+            this.callback = callback;
+        }
+
+        @Override
+        public int compareTo(SubmissionTask other) {
+            int byDeadline = Long.compare(deadlineNanos, other.deadlineNanos);
+            return byDeadline != 0 ? byDeadline : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public void run() {
+            long allocatedBefore = AllocationMeter.currentThreadAllocatedBytes();
+            // Copy out first: once recycled the fields belong to the next student
+            int id = studentId;
+            long enqueued = enqueuedNanos;
+            SubmissionCallback onComplete = callback;
+            SubmissionResult result = SubmissionResult.FAILURE;
+            try {
+                result = runSubmission(id, enqueued, deadlineNanos);
+            } finally {
+                callback = null;
+                recycle(this);
+                // Always free the slot, even if exception
+                window.release(System.nanoTime() - enqueued);
+                if (onComplete != null) {
+                    onComplete.onComplete(id, result);
+                }
+                stats.recordAllocation(AllocationMeter.allocatedSince(allocatedBefore));
+            }
+        }
+    }
+
+    /**
+     * Print the configuration banner
+     */
+    private void printBanner() {
+        System.out.println("\n╔════════════════════════════════════════════════════════╗");
+        System.out.println("║   NEW CONCURRENT SUBMISSION SYSTEM INITIALIZED         ║");
+        System.out.println("╚════════════════════════════════════════════════════════╝");
+        System.out.printf("Execution Mode: %s%n", mode.getDisplayName());
+        if (mode == ExecutionMode.FIXED_POOL) {
+            System.out.printf("Thread Pool Size: %d%n", poolSize);
+        } else if (mode == ExecutionMode.FORK_JOIN) {
+            System.out.printf("Parallelism: %d (up to %,d threads while submissions block)%n",
+                    poolSize, ExecutionMode.maxForkJoinThreads(poolSize));
+        } else {
+            System.out.printf("Concurrency Cap: %,d%n", window.getLimit());
+            if (!ExecutionMode.virtualThreadsSupported()) {
+                System.out.println("NOTE: JVM has no virtual threads, using thread-per-task platform threads");
+            }
+        }
+        if (retryPolicy.isRetryEnabled() || retryPolicy.isHedgingEnabled()) {
+            System.out.printf("Retry Policy: %s%n", retryPolicy);
+        }
+        if (examDeadlines != null) {
+            System.out.printf("Exam Deadlines: %s (%s%s)%n", examDeadlines,
+                    schedulingPolicy.getDisplayName(), shedHopeless ? ", shedding late submissions" : "");
+        }
+        if (submissionTimeoutMs > 0) {
+            System.out.printf("Submission Timeout: %,d ms%n", submissionTimeoutMs);
+        }
+        if (runDeadlineMs > 0) {
+            System.out.printf("Run Deadline: %,d ms%n", runDeadlineMs);
+        }
+        if (journal != null) {
+            System.out.printf("Journal: %s%n", journal.getDirectory());
+        }
+        if (payloadCorpus != null) {
+            System.out.printf("Payloads: %,d files of %,d KB -> %s%n", payloadCorpus.getFileCount(),
+                    payloadCorpus.getFileBytes() / 1024, payloadStore.getRoot());
+        }
+        if (window instanceof AdaptiveSubmissionWindow) {
+            AdaptiveSubmissionWindow adaptive = (AdaptiveSubmissionWindow) window;
+            System.out.printf("Adaptive Limit: %d-%,d (starting at %d)%n",
+                    adaptive.getMinLimit(), adaptive.getMaxLimit(), adaptive.getLimit());
+        }
+        System.out.printf("Target Capacity: %,d students%n", numberOfStudents);
+        System.out.println("-".repeat(60) + "\n");
+    }
+
+    /**
+     * Enable/disable console output (benchmarks and batch runs disable it)
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Set the retry/hedging policy (call before processSubmissions)
+     * Each call starts a fresh retry budget
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        this.retryBudget = new RetryBudget(retryPolicy.getBudgetRatio(), window.getLimit());
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Persist every outcome to a write-ahead journal before counting it
+     * The caller owns the journal and closes it after shutdown()
+     * @param journal Journal to append to, null = in-memory only
+     */
+    public void setJournal(SubmissionJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Replace the index of already-submitted students
+     * (e.g. one rebuilt from the journal, so a restart skips them)
+     */
+    public void setSubmittedIds(StudentIdIndex submittedIds) {
+        this.submittedIds = submittedIds;
+    }
+
+    public StudentIdIndex getSubmittedIds() {
+        return submittedIds;
+    }
+
+    /**
+     * Make every student upload an exam file from the corpus into the store
+     * @param corpus Generated files (student n uploads corpus.fileFor(n)), null = off
+     * @param store Content-addressed destination
+     */
+    public void setPayloads(PayloadCorpus corpus, PayloadStore store) {
+        this.payloadStore = store;
+        this.payloadCorpus = corpus;
+    }
+
+    /**
+     * Break results down by course and exam hall (see CourseCatalog)
+     * Call before processSubmissions; the breakdown can be read live
+     * with getCourseStats()/getHallStats()
+     * @param courseCatalog Courses and halls, null = off
+     */
+    public void setCourseCatalog(CourseCatalog courseCatalog) {
+        if (courseCatalog != null) {
+            courseStats = new GroupedStats(courseCatalog.getCourseNames());
+            hallStats = new GroupedStats(courseCatalog.getHallNames());
+        }
+        this.courseCatalog = courseCatalog;
+    }
+
+    /**
+     * Per-course results so far (null without a course catalog)
+     */
+    public GroupedStats getCourseStats() {
+        return courseCatalog != null ? courseStats : null;
+    }
+
+    /**
+     * Per-hall results so far (null without a course catalog)
+     */
+    public GroupedStats getHallStats() {
+        return courseCatalog != null ? hallStats : null;
+    }
+
+    /**
+     * Give every student an exam deadline (see ExamDeadlines)
+     * On-time and late successes are counted separately
+     * @param examDeadlines Deadlines relative to the run start, null = none
+     */
+    public void setExamDeadlines(ExamDeadlines examDeadlines) {
+        this.examDeadlines = examDeadlines;
+    }
+
+    /**
+     * Choose the order queued submissions start in (call before processSubmissions)
+     * EDF replaces the executor with a priority-queue pool
+     * @throws IllegalArgumentException for EDF with VIRTUAL_THREADS (no queue to reorder)
+     */
+    public void setSchedulingPolicy(SchedulingPolicy schedulingPolicy) {
+        if (schedulingPolicy == this.schedulingPolicy) {
+            return;
+        }
+        ExecutorService previous = executor;
+        executor = mode.createExecutor(poolSize, schedulingPolicy, window.getMaxLimit());
+        this.schedulingPolicy = schedulingPolicy;
+        previous.shutdown();
+    }
+
+    public SchedulingPolicy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    /**
+     * Skip submissions that would finish after their exam deadline
+     * (judged at start from the average service time) instead of running
+     * them late; skipped students are counted as shed and may resubmit
+     */
+    public void setShedHopeless(boolean shedHopeless) {
+        this.shedHopeless = shedHopeless;
+    }
+
+    /**
+     * Interrupt any submission still running after this long
+     * @param submissionTimeoutMs Per-submission deadline, 0 = none
+     */
+    public void setSubmissionTimeoutMs(long submissionTimeoutMs) {
+        this.submissionTimeoutMs = submissionTimeoutMs;
+    }
+
+    /**
+     * Print progress and publish the ProgressReporter MBean while a run is active
+     * @param progressIntervalMs Sampling period, 0 = off
+     */
+    public void setProgressIntervalMs(long progressIntervalMs) {
+        this.progressIntervalMs = progressIntervalMs;
+    }
+
+    /**
+     * Stop the whole run after this long: no new submissions are started
+     * and in-flight ones are cancelled
+     * @param runDeadlineMs Overall deadline, 0 = none
+     */
+    public void setRunDeadlineMs(long runDeadlineMs) {
+        this.runDeadlineMs = runDeadlineMs;
+    }
+
+    /**
+     * Thread factory for background helper threads
+     */
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Set the upper bound of each simulated submission
+     * @param maxSubmitTimeMs 0 = no sleep, measures framework overhead only
+     */
+    public void setMaxSubmitTimeMs(int maxSubmitTimeMs) {
+        this.maxSubmitTimeMs = maxSubmitTimeMs;
+    }
+
+    /**
+     * Default in-flight window for a mode
+     * VIRTUAL_THREADS: poolSize is the concurrency cap (0 or less = default)
+     */
+    public static int defaultWindowSize(ExecutionMode mode, int poolSize) {
+        if (mode == ExecutionMode.VIRTUAL_THREADS) {
+            return poolSize > 0 ? poolSize : DEFAULT_VIRTUAL_WINDOW;
+        }
+        return Math.max(1, poolSize) * WINDOW_PER_POOL_THREAD;
+    }
+
+    /**
+     * Adaptive window for a mode
+     * Starts at the pool size (or cap) and may grow up to the default window
+     */
+    public static AdaptiveSubmissionWindow adaptiveWindow(ExecutionMode mode, int poolSize) {
+        int maxLimit = defaultWindowSize(mode, poolSize);
+        int initial = poolSize > 0 ? Math.min(poolSize, maxLimit)
+                : Math.min(Runtime.getRuntime().availableProcessors() * 2, maxLimit);
+        return new AdaptiveSubmissionWindow(initial, 1, maxLimit);
+    }
+
     /**
      * Display final statistics
      */
     public void displayResults() {
         stats.displayStats();
+        if (courseCatalog != null) {
+            courseStats.printTable("Course", System.out);
+            hallStats.printTable("Hall", System.out);
+            System.out.println("=".repeat(70) + "\n");
+        }
     }
 
     /**
@@ -108,8 +1105,19 @@ public class NewSubmissionSystem {
      * RESOURCE MANAGEMENT: Always call this to prevent thread leaks
      */
     public void shutdown() throws InterruptedException {
-        System.out.println("\nShutting down submission system...");
+        if (verbose) {
+            System.out.println("\nShutting down submission system...");
+        }
+        stopProgress();
         executor.shutdown();
+        if (hedgeScheduler != null) {
+            hedgeScheduler.shutdownNow();
+            // Losing hedges are still sleeping; they have nothing left to report
+            hedgeExecutor.shutdownNow();
+        }
+        if (timeoutScheduler != null) {
+            timeoutScheduler.shutdownNow();
+        }
 
         if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
             System.err.println("Timeout waiting for shutdown, forcing...");
@@ -120,7 +1128,13 @@ public class NewSubmissionSystem {
             }
         }
 
-        System.out.println("✓ Submission system shutdown complete.\n");
+        LOG.flush();
+        if (verbose) {
+            if (LOG.getDroppedCount() > 0) {
+                System.out.printf("⚠ %,d log events dropped (log buffer full)%n", LOG.getDroppedCount());
+            }
+            System.out.println("✓ Submission system shutdown complete.\n");
+        }
     }
 
     /**
@@ -133,4 +1147,42 @@ public class NewSubmissionSystem {
     public int getPoolSize() {
         return poolSize;
     }
+
+    public int getMaxInFlight() {
+        return window.getLimit();
+    }
+
+    /**
+     * Submissions accepted but not finished (FORK_JOIN: submissions
+     * running on a worker, as ranges are not admitted through the window)
+     */
+    public int getInFlight() {
+        if (mode == ExecutionMode.FORK_JOIN) {
+            return (int) rangeInFlight.sum();
+        }
+        return window.getInFlight();
+    }
+
+    /**
+     * Tasks waiting for a worker, -1 for VIRTUAL_THREADS (no queue)
+     * FORK_JOIN counts queued range tasks, not students
+     */
+    public int getQueueDepth() {
+        if (executor instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) executor).getQueue().size();
+        }
+        if (executor instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) executor;
+            return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedTaskCount() + pool.getQueuedSubmissionCount());
+        }
+        return -1;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return mode;
+    }
+
+    public SubmissionStats getStats() {
+        return stats;
+    }
 }
\ No newline at end of file
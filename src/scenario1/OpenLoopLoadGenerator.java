@@ -0,0 +1,232 @@
+package scenario1;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: students arrive on a schedule, not when the
+ * previous one finishes
+ *
+ * WHY: processSubmissions() queues every student at t=0 (closed loop), and a
+ * client that waits for answers slows down exactly when the system does, so
+ * the slow period is under-sampled ("coordinated omission"). Here each
+ * student has an intended start time fixed in advance; if the generator
+ * falls behind it sends immediately but latency is still measured from the
+ * intended time, so queueing delay during the deadline spike shows up
+ *
+ * PATTERNS:
+ *   CONSTANT - evenly spaced at the target rate
+ *   POISSON  - exponential gaps, mean = 1/rate (independent arrivals)
+ *   RAMP     - rate grows linearly from rate to peak-rate (the deadline rush)
+ *
+ * Usage:
+ *   java scenario1.OpenLoopLoadGenerator --students=20000 --rate=2000 --pattern=ramp
+ *        --peak-rate=8000 --mode=FIXED_POOL --pool=32 --submit-ms=100
+ */
+public class OpenLoopLoadGenerator {
+
+    /**
+     * Arrival process
+     */
+    public enum ArrivalPattern {
+        CONSTANT, POISSON, RAMP
+    }
+
+    private final NewSubmissionSystem system;
+    private final ArrivalPattern pattern;
+    private final int students;
+    private final double ratePerSecond;
+    private final double peakRatePerSecond;
+    private final long seed;
+
+    private final long[] intendedStartNanos;
+    private final long[] sentNanos;
+    private final LatencyHistogram responseTime = new LatencyHistogram();
+    private final LatencyHistogram naiveResponseTime = new LatencyHistogram();
+    private final AtomicLong rejected = new AtomicLong();
+    private long maxSendLagNanos;
+    private long runNanos;
+
+    /**
+     * Constructor
+     * @param system Submission system (startServing() is called by run())
+     * @param ratePerSecond Target arrival rate (start rate for RAMP)
+     * @param peakRatePerSecond Final rate for RAMP (ignored otherwise)
+     */
+    public OpenLoopLoadGenerator(NewSubmissionSystem system, ArrivalPattern pattern, int students,
+                                 double ratePerSecond, double peakRatePerSecond, long seed) {
+        if (ratePerSecond <= 0 || (pattern == ArrivalPattern.RAMP && peakRatePerSecond <= 0)) {
+            throw new IllegalArgumentException("Rates must be positive");
+        }
+        this.system = system;
+        this.pattern = pattern;
+        this.students = students;
+        this.ratePerSecond = ratePerSecond;
+        this.peakRatePerSecond = peakRatePerSecond;
+        this.seed = seed;
+        this.intendedStartNanos = new long[students + 1];
+        this.sentNanos = new long[students + 1];
+    }
+
+    /**
+     * Intended start of every student, relative to the start of the run
+     * Fixed before the run so the schedule cannot react to slow responses
+     */
+    private void buildSchedule() {
+        SplittableRandom random = new SplittableRandom(seed);
+        double rampSeconds = 2.0 * students / (ratePerSecond + peakRatePerSecond);
+        double t = 0;
+        for (int id = 1; id <= students; id++) {
+            intendedStartNanos[id] = (long) (t * 1_000_000_000L);
+            switch (pattern) {
+                case CONSTANT:
+                    t += 1.0 / ratePerSecond;
+                    break;
+                case POISSON:
+                    t += -Math.log(1.0 - random.nextDouble()) / ratePerSecond;
+                    break;
+                case RAMP:
+                    double progress = Math.min(1.0, t / rampSeconds);
+                    t += 1.0 / (ratePerSecond + (peakRatePerSecond - ratePerSecond) * progress);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Issue every student on schedule and wait for the last answer
+     */
+    public void run() throws InterruptedException {
+        buildSchedule();
+        system.startServing();
+        long origin = System.nanoTime();
+        for (int id = 1; id <= students; id++) {
+            long intended = origin + intendedStartNanos[id];
+            long now = System.nanoTime();
+            // Sleep until due; when behind schedule, send straight away (never skip)
+            while (now < intended) {
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+            intendedStartNanos[id] = intended;
+            sentNanos[id] = now;
+            maxSendLagNanos = Math.max(maxSendLagNanos, now - intended);
+            system.submit(id, this::onComplete);
+        }
+        system.stopServing();
+        runNanos = System.nanoTime() - origin;
+    }
+
+    private void onComplete(int studentId, SubmissionResult result) {
+        if (result == SubmissionResult.BUSY) {
+            rejected.incrementAndGet();
+            return;
+        }
+        long now = System.nanoTime();
+        responseTime.record(now - intendedStartNanos[studentId]);
+        naiveResponseTime.record(now - sentNanos[studentId]);
+    }
+
+    /**
+     * Print offered vs achieved load and both latency views
+     */
+    public void printReport() {
+        LatencyHistogram.Snapshot corrected = responseTime.snapshot();
+        LatencyHistogram.Snapshot naive = naiveResponseTime.snapshot();
+        double seconds = runNanos / 1_000_000_000.0;
+        System.out.println("\n" + "=".repeat(70));
+        System.out.println("     OPEN-LOOP LOAD - " + pattern
+                + (pattern == ArrivalPattern.RAMP
+                    ? String.format(" %.0f -> %.0f/s", ratePerSecond, peakRatePerSecond)
+                    : String.format(" %.0f/s", ratePerSecond)));
+        System.out.println("=".repeat(70));
+        System.out.printf("Students                    : %,d%n", students);
+        System.out.printf("Schedule length             : %,d ms%n",
+                TimeUnit.NANOSECONDS.toMillis(intendedStartNanos[students] - intendedStartNanos[1]));
+        System.out.printf("Run time (last answer)      : %,d ms%n", TimeUnit.NANOSECONDS.toMillis(runNanos));
+        System.out.printf("Achieved throughput         : %.2f submissions/second%n",
+                seconds > 0 ? (students - rejected.get()) / seconds : 0.0);
+        System.out.printf("Rejected (window full)      : %,d%n", rejected.get());
+        System.out.printf("Max generator lag           : %.2f ms%n", maxSendLagNanos / 1_000_000.0);
+        System.out.println("-".repeat(70));
+        System.out.println("Response time (ms)        p50      p90      p99    p99.9      max");
+        printRow("From intended start", corrected);
+        printRow("From actual send", naive);
+        System.out.println("(rows differ when the generator itself fell behind schedule)");
+        System.out.println("=".repeat(70));
+    }
+
+    private static void printRow(String label, LatencyHistogram.Snapshot snapshot) {
+        System.out.printf("%-20s%9.2f%9.2f%9.2f%9.2f%9.2f%n", label,
+                snapshot.getPercentileMillis(50.0), snapshot.getPercentileMillis(90.0),
+                snapshot.getPercentileMillis(99.0), snapshot.getPercentileMillis(99.9),
+                snapshot.getMaxNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Response times measured from each student's intended start
+     */
+    public LatencyHistogram.Snapshot getResponseTime() {
+        return responseTime.snapshot();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int students = 10_000;
+        double rate = 1000;
+        double peakRate = 0;
+        ArrivalPattern pattern = ArrivalPattern.POISSON;
+        ExecutionMode mode = ExecutionMode.FIXED_POOL;
+        int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        int submitMs = Student.DEFAULT_MAX_SUBMIT_TIME_MS;
+        int maxInFlight = 0;
+        long seed = 42;
+        for (String arg : args) {
+            String[] option = BatchRunner.splitOption(arg);
+            String key = option[0];
+            String value = option[1];
+            switch (key) {
+                case "students": students = BatchRunner.parsePositive(key, value); break;
+                case "rate": rate = BatchRunner.parsePositive(key, value); break;
+                case "peak-rate": peakRate = BatchRunner.parsePositive(key, value); break;
+                case "pattern":
+                    try {
+                        pattern = ArrivalPattern.valueOf(value.trim().toUpperCase());
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("pattern must be constant, poisson or ramp: " + value);
+                    }
+                    break;
+                case "mode": mode = BatchRunner.parseModes(value).get(0); break;
+                case "pool": poolSize = BatchRunner.parsePositive(key, value); break;
+                case "submit-ms": submitMs = BatchRunner.parseNonNegative(key, value); break;
+                case "max-in-flight": maxInFlight = BatchRunner.parsePositive(key, value); break;
+                case "seed": seed = BatchRunner.parseNonNegative(key, value); break;
+                default: throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+        if (pattern == ArrivalPattern.RAMP && peakRate == 0) {
+            peakRate = rate * 4;
+        }
+
+        // Default window admits everyone: overload shows up as queueing, not rejections
+        NewSubmissionSystem system = new NewSubmissionSystem(mode, poolSize, students,
+                maxInFlight > 0 ? maxInFlight : students);
+        system.setMaxSubmitTimeMs(submitMs);
+        system.setVerbose(false);
+
+        OpenLoopLoadGenerator generator =
+                new OpenLoopLoadGenerator(system, pattern, students, rate, peakRate, seed);
+        try {
+            generator.run();
+            generator.printReport();
+            system.displayResults();
+        } finally {
+            system.shutdown();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package scenario1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * Local corpus of generated exam files that students "upload"
+ *
+ * Files are pseudo-random (incompressible) and deterministic per seed, so
+ * repeated runs reuse the same corpus. Student n uploads file n % fileCount;
+ * with fewer files than students identical uploads are deduplicated by
+ * the PayloadStore
+ */
+public class PayloadCorpus {
+    private static final int WRITE_CHUNK_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final Path[] files;
+    private final int fileBytes;
+
+    private PayloadCorpus(Path directory, Path[] files, int fileBytes) {
+        this.directory = directory;
+        this.files = files;
+        this.fileBytes = fileBytes;
+    }
+
+    /**
+     * Create (or reuse) a corpus of fileCount files of fileBytes each
+     * Existing files of the right size are kept
+     */
+    public static PayloadCorpus generate(Path directory, int fileCount, int fileBytes, long seed)
+            throws IOException {
+        if (fileCount <= 0 || fileBytes <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Need fileCount > 0 and fileBytes > 0, got %d/%d", fileCount, fileBytes));
+        }
+        Files.createDirectories(directory);
+        Path[] files = new Path[fileCount];
+        ByteBuffer chunk = ByteBuffer.allocateDirect(WRITE_CHUNK_BYTES);
+        for (int i = 0; i < fileCount; i++) {
+            Path file = directory.resolve(String.format("exam-%06d.bin", i));
+            files[i] = file;
+            if (Files.exists(file) && Files.size(file) == fileBytes) {
+                continue;
+            }
+            writeRandomFile(file, fileBytes, new SplittableRandom(seed + i), chunk);
+        }
+        return new PayloadCorpus(directory, files, fileBytes);
+    }
+
+    private static void writeRandomFile(Path file, int bytes, SplittableRandom random, ByteBuffer chunk)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int remaining = bytes;
+            while (remaining > 0) {
+                chunk.clear();
+                int length = Math.min(remaining, chunk.capacity());
+                while (chunk.position() + Long.BYTES <= length) {
+                    chunk.putLong(random.nextLong());
+                }
+                while (chunk.position() < length) {
+                    chunk.put((byte) random.nextInt());
+                }
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+                remaining -= length;
+            }
+        }
+    }
+
+    /**
+     * File uploaded by a student
+     */
+    public Path fileFor(int studentId) {
+        return files[Math.floorMod(studentId, files.length)];
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getFileCount() {
+        return files.length;
+    }
+
+    public int getFileBytes() {
+        return fileBytes;
+    }
+}
@@ -0,0 +1,187 @@
+package scenario1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content-addressed store for uploaded exam files
+ *
+ * LAYOUT: root/ab/abcdef...  (SHA-256 of the content, first byte as fan-out dir)
+ *
+ * ZERO-COPY PATH:
+ * - checksum: the upload is read into a pooled direct buffer and hashed
+ *   as it streams (no per-upload byte[])
+ * - copy: new content moves file-to-file with FileChannel.transferTo, so the
+ *   kernel copies it (sendfile/copy_file_range) without passing through Java
+ * - duplicates: content already in the store is not copied again
+ *
+ * A new blob is written to a temp file and hard-linked into place, so readers
+ * never see a partial blob; when concurrent uploads race on the same content,
+ * exactly one link succeeds and the others count as deduplicated
+ *
+ * POOLING: read buffers and digests are borrowed per store() call and
+ * returned in finally, not kept per thread - a virtual thread per submission
+ * would otherwise allocate (and drop) a direct buffer for every upload
+ *
+ * THREAD SAFETY: safe for concurrent store() calls
+ */
+public class PayloadStore {
+    private static final int READ_BUFFER_BYTES = 128 * 1024;
+    private static final int MAX_POOLED = 64;
+
+    private final Path root;
+    private final AtomicLong tempCounter = new AtomicLong();
+    private final ByteBufferPool readBuffers = new ByteBufferPool(READ_BUFFER_BYTES, MAX_POOLED);
+    private final ConcurrentLinkedQueue<MessageDigest> digests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledDigests = new AtomicInteger();
+
+    /**
+     * Constructor
+     * @param root Store directory (created if missing)
+     */
+    public PayloadStore(Path root) throws IOException {
+        this.root = root;
+        Files.createDirectories(root.resolve("tmp"));
+    }
+
+    /**
+     * Store an uploaded file
+     * @return content address and whether the content was already stored
+     * @throws java.nio.channels.ClosedByInterruptException if the worker is
+     *         interrupted mid-transfer (submission timeout)
+     */
+    public StoredPayload store(Path upload) throws IOException {
+        try (FileChannel source = FileChannel.open(upload, StandardOpenOption.READ)) {
+            long size = source.size();
+            String hash;
+            ByteBuffer buffer = readBuffers.acquire();
+            MessageDigest digest = acquireDigest();
+            try {
+                hash = checksum(source, size, buffer, digest);
+            } finally {
+                releaseDigest(digest);
+                readBuffers.release(buffer);
+            }
+            Path blob = blobPath(hash);
+            if (Files.exists(blob)) {
+                return new StoredPayload(hash, size, true);
+            }
+
+            Files.createDirectories(blob.getParent());
+            Path temp = root.resolve("tmp").resolve(hash + "." + tempCounter.incrementAndGet());
+            try {
+                try (FileChannel target = FileChannel.open(temp,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                    long copied = 0;
+                    while (copied < size) {
+                        copied += source.transferTo(copied, size - copied, target);
+                    }
+                }
+                // Unlike a rename, a link never replaces an existing blob
+                Files.createLink(blob, temp);
+            } catch (FileAlreadyExistsException e) {
+                // Another worker stored the same content first
+                return new StoredPayload(hash, size, true);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return new StoredPayload(hash, size, false);
+        }
+    }
+
+    /**
+     * Stream the whole channel through SHA-256 using a borrowed direct buffer
+     */
+    private static String checksum(FileChannel source, long size, ByteBuffer buffer, MessageDigest digest)
+            throws IOException {
+        long position = 0;
+        while (position < size) {
+            buffer.clear();
+            int read = source.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MessageDigest acquireDigest() {
+        MessageDigest digest = digests.poll();
+        if (digest != null) {
+            pooledDigests.decrementAndGet();
+            return digest;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Reset and keep the digest; extra releases are left to the GC
+     */
+    private void releaseDigest(MessageDigest digest) {
+        if (pooledDigests.get() >= MAX_POOLED) {
+            return;
+        }
+        digest.reset();
+        pooledDigests.incrementAndGet();
+        digests.offer(digest);
+    }
+
+    /**
+     * Where the blob with this content address lives
+     */
+    public Path blobPath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Result of one store() call
+     */
+    public static class StoredPayload {
+        private final String sha256;
+        private final long sizeBytes;
+        private final boolean deduplicated;
+
+        StoredPayload(String sha256, long sizeBytes, boolean deduplicated) {
+            this.sha256 = sha256;
+            this.sizeBytes = sizeBytes;
+            this.deduplicated = deduplicated;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        /**
+         * True if the content was already in the store (nothing copied)
+         */
+        public boolean isDeduplicated() {
+            return deduplicated;
+        }
+    }
+}
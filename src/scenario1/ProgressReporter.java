@@ -0,0 +1,273 @@
+package scenario1;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Periodic progress of a running batch: completed, in flight, queue depth,
+ * throughput and p99 latency over the last interval
+ *
+ * NO CONTENTION: one daemon thread samples every N ms. Counters are
+ * LongAdder sums and histogram merges (reads only), in-flight is a
+ * volatile read; queue depth may take the queue's lock once per sample,
+ * never per submission. Each sample is published as one immutable
+ * Sample, which the printed line and the JMX MBean both read
+ *
+ * Usage:
+ *   system.setProgressIntervalMs(1000);   // started/stopped with each run
+ */
+public class ProgressReporter implements ProgressReporterMBean {
+    public static final String OBJECT_NAME = "scenario1:type=SubmissionProgress";
+
+    private final NewSubmissionSystem system;
+    private final SubmissionStats stats;
+    private final long intervalMs;
+    private final PrintStream out;
+
+    private ScheduledExecutorService sampler;
+    private ObjectName registeredName;
+    private volatile Sample latest = Sample.EMPTY;
+    private LatencyHistogram.Snapshot previousLatency;
+    private long previousNanos;
+
+    /**
+     * Constructor
+     * @param intervalMs Sampling period
+     * @param out Where to print one line per sample (null = JMX only)
+     */
+    public ProgressReporter(NewSubmissionSystem system, long intervalMs, PrintStream out) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Progress interval must be positive: " + intervalMs);
+        }
+        this.system = system;
+        this.stats = system.getStats();
+        this.intervalMs = intervalMs;
+        this.out = out;
+    }
+
+    /**
+     * Register the MBean and start sampling
+     */
+    public synchronized void start() {
+        if (sampler != null) {
+            return;
+        }
+        latest = Sample.EMPTY;
+        registerMBean();
+        previousLatency = stats.getLatencySnapshot();
+        previousNanos = System.nanoTime();
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::sample, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop sampling and unregister the MBean
+     */
+    public synchronized void stop() {
+        if (sampler == null) {
+            return;
+        }
+        sampler.shutdownNow();
+        try {
+            // A sample already running finishes its line before results are printed
+            sampler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sampler = null;
+        unregisterMBean();
+    }
+
+    /**
+     * Take one sample (runs on the sampler thread only)
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        LatencyHistogram.Snapshot latency = stats.getLatencySnapshot();
+        LatencyHistogram.Snapshot recent = latency.since(previousLatency);
+        double seconds = (now - previousNanos) / 1_000_000_000.0;
+
+        int successful = stats.getSuccessfulSubmissions();
+        int failed = stats.getFailedSubmissions();
+        int timedOut = stats.getTimedOutSubmissions();
+        Sample sample = new Sample(
+                successful + failed + timedOut + stats.getShedSubmissions(),
+                successful, failed, timedOut,
+                system.getInFlight(), system.getQueueDepth(),
+                seconds > 0 ? recent.getCount() / seconds : 0.0,
+                recent.getPercentileMillis(99.0),
+                stats.getTotalTimeMillis());
+        latest = sample;
+        previousLatency = latency;
+        previousNanos = now;
+
+        if (out != null) {
+            out.printf("[%,7d ms] %,d/%,d done (%.1f%%) | in flight %,d | queued %s | %,.0f/s | p99 %.2f ms%n",
+                    sample.elapsedMillis, sample.completed, getTotalStudents(), getPercentComplete(),
+                    sample.inFlight, sample.queueDepth < 0 ? "-" : String.format("%,d", sample.queueDepth),
+                    sample.throughput, sample.recentP99Millis);
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                // Previous run's reporter was never stopped; the newest run wins
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            registeredName = name;
+        } catch (JMException e) {
+            System.err.println("⚠ Progress MBean not registered: " + e.getMessage());
+        }
+    }
+
+    private void unregisterMBean() {
+        if (registeredName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+        } catch (JMException e) {
+            // Already replaced by a newer run
+        }
+        registeredName = null;
+    }
+
+    /**
+     * Latest sample (all zeros before the first interval)
+     */
+    public Sample getLatestSample() {
+        return latest;
+    }
+
+    /**
+     * MBean attributes (read from the latest sample)
+     */
+    @Override
+    public int getTotalStudents() {
+        return system.getNumberOfStudents();
+    }
+
+    @Override
+    public int getCompleted() {
+        return latest.completed;
+    }
+
+    @Override
+    public int getSuccessful() {
+        return latest.successful;
+    }
+
+    @Override
+    public int getFailed() {
+        return latest.failed;
+    }
+
+    @Override
+    public int getTimedOut() {
+        return latest.timedOut;
+    }
+
+    @Override
+    public int getInFlight() {
+        return latest.inFlight;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return latest.queueDepth;
+    }
+
+    @Override
+    public double getPercentComplete() {
+        int total = getTotalStudents();
+        return total == 0 ? 0.0 : 100.0 * latest.completed / total;
+    }
+
+    @Override
+    public double getThroughput() {
+        return latest.throughput;
+    }
+
+    @Override
+    public double getRecentP99Millis() {
+        return latest.recentP99Millis;
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return latest.elapsedMillis;
+    }
+
+    @Override
+    public long getSampleIntervalMillis() {
+        return intervalMs;
+    }
+
+    /**
+     * Immutable point-in-time progress
+     */
+    public static final class Sample {
+        static final Sample EMPTY = new Sample(0, 0, 0, 0, 0, 0, 0.0, 0.0, 0);
+
+        private final int completed;
+        private final int successful;
+        private final int failed;
+        private final int timedOut;
+        private final int inFlight;
+        private final int queueDepth;
+        private final double throughput;
+        private final double recentP99Millis;
+        private final long elapsedMillis;
+
+        Sample(int completed, int successful, int failed, int timedOut, int inFlight, int queueDepth,
+               double throughput, double recentP99Millis, long elapsedMillis) {
+            this.completed = completed;
+            this.successful = successful;
+            this.failed = failed;
+            this.timedOut = timedOut;
+            this.inFlight = inFlight;
+            this.queueDepth = queueDepth;
+            this.throughput = throughput;
+            this.recentP99Millis = recentP99Millis;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getRecentP99Millis() {
+            return recentP99Millis;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package scenario1;
+
+/**
+ * JMX view of a running submission batch (see ProgressReporter)
+ * Registered as scenario1:type=SubmissionProgress while a run is active
+ *
+ * Values come from the reporter's latest sample, so JConsole/VisualVM
+ * polling never touches the workers' counters
+ */
+public interface ProgressReporterMBean {
+
+    int getTotalStudents();
+
+    int getCompleted();
+
+    int getSuccessful();
+
+    int getFailed();
+
+    int getTimedOut();
+
+    int getInFlight();
+
+    /**
+     * Tasks waiting for a worker (-1 when the executor has no queue)
+     */
+    int getQueueDepth();
+
+    double getPercentComplete();
+
+    /**
+     * Completions per second over the last sample interval
+     */
+    double getThroughput();
+
+    /**
+     * p99 end-to-end latency of submissions finished in the last interval
+     */
+    double getRecentP99Millis();
+
+    long getElapsedMillis();
+
+    long getSampleIntervalMillis();
+}
@@ -0,0 +1,71 @@
+package scenario1;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting retries and hedges to a fraction of real traffic
+ *
+ * Every first attempt deposits `ratio` tokens (stored as thousandths);
+ * every retry or hedge withdraws one whole token. With ratio 0.2, extra
+ * attempts can never exceed ~20% of submissions (plus a small initial
+ * allowance), so a failure storm cannot swamp the pool with retries
+ *
+ * THREAD SAFETY: single AtomicLong, CAS loop on withdraw
+ */
+public class RetryBudget {
+    private static final long SCALE = 1000;
+    private static final long INITIAL_TOKENS = 10;
+
+    private final long depositPerAttempt;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * Constructor
+     * @param ratio Tokens earned per first attempt
+     * @param maxTokens Cap on saved-up tokens (limits retry bursts)
+     */
+    public RetryBudget(double ratio, int maxTokens) {
+        this.depositPerAttempt = Math.round(ratio * SCALE);
+        this.maxBalance = Math.max(INITIAL_TOKENS, maxTokens) * SCALE;
+        this.balance = new AtomicLong(depositPerAttempt > 0 ? INITIAL_TOKENS * SCALE : 0);
+    }
+
+    /**
+     * Called once per submission (first attempt only)
+     */
+    public void onFirstAttempt() {
+        if (depositPerAttempt == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerAttempt)));
+    }
+
+    /**
+     * Withdraw one token for a retry or hedge
+     * @return false if the budget is exhausted (caller must not retry)
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    /**
+     * Whole tokens currently available
+     */
+    public long getAvailableTokens() {
+        return balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,118 @@
+package scenario1;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable retry/hedging configuration for failed or slow submissions
+ *
+ * BACKOFF: exponential with full jitter - attempt n waits a random time
+ * in [0, min(maxBackoff, baseBackoff × 2^(n-1))], so students that failed
+ * together do not all retry at the same instant
+ *
+ * BUDGET: retries and hedges draw from a RetryBudget, so when many
+ * submissions fail at once the extra load is capped instead of
+ * multiplying it (see RetryBudget)
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final double budgetRatio;
+    private final long hedgeDelayMs;
+
+    /**
+     * Constructor
+     * @param maxAttempts Total attempts per submission (1 = no retries)
+     * @param baseBackoffMs Backoff cap for the first retry
+     * @param maxBackoffMs Upper bound for any backoff
+     * @param budgetRatio Retries+hedges allowed per first attempt (e.g. 0.2 = 20% extra load)
+     * @param hedgeDelayMs Start a parallel hedge attempt after this long (0 = no hedging)
+     */
+    public RetryPolicy(int maxAttempts, long baseBackoffMs, long maxBackoffMs,
+                       double budgetRatio, long hedgeDelayMs) {
+        if (maxAttempts < 1 || baseBackoffMs < 0 || maxBackoffMs < baseBackoffMs
+                || budgetRatio < 0 || hedgeDelayMs < 0) {
+            throw new IllegalArgumentException("Invalid retry policy");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.budgetRatio = budgetRatio;
+        this.hedgeDelayMs = hedgeDelayMs;
+    }
+
+    /**
+     * No retries, no hedging (original behaviour)
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 0, 0, 0.0, 0);
+    }
+
+    /**
+     * 3 attempts, 10-200 ms jittered backoff, at most 20% extra load
+     */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(3, 10, 200, 0.2, 0);
+    }
+
+    /**
+     * Copy of this policy with hedging after the given delay
+     */
+    public RetryPolicy withHedgeDelay(long hedgeDelayMs) {
+        return new RetryPolicy(maxAttempts, baseBackoffMs, maxBackoffMs, budgetRatio, hedgeDelayMs);
+    }
+
+    /**
+     * Copy of this policy with a different attempt limit
+     */
+    public RetryPolicy withMaxAttempts(int maxAttempts) {
+        return new RetryPolicy(maxAttempts, baseBackoffMs, maxBackoffMs, budgetRatio, hedgeDelayMs);
+    }
+
+    /**
+     * Whether another attempt is allowed after this many attempts
+     */
+    public boolean canRetry(int attemptsSoFar) {
+        return attemptsSoFar < maxAttempts;
+    }
+
+    /**
+     * Jittered backoff before the next attempt
+     * @param attemptsSoFar Attempts already made (1 = first retry)
+     */
+    public long backoffMillis(int attemptsSoFar) {
+        if (baseBackoffMs == 0) {
+            return 0;
+        }
+        int exponent = Math.min(attemptsSoFar - 1, 30);
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << exponent);
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    public boolean isRetryEnabled() {
+        return maxAttempts > 1;
+    }
+
+    public boolean isHedgingEnabled() {
+        return hedgeDelayMs > 0;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    public long getHedgeDelayMs() {
+        return hedgeDelayMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d attempts, backoff %d-%d ms, budget %.0f%%, hedge %s",
+                maxAttempts, baseBackoffMs, maxBackoffMs, budgetRatio * 100,
+                hedgeDelayMs > 0 ? "after " + hedgeDelayMs + " ms" : "off");
+    }
+}
@@ -0,0 +1,22 @@
+package scenario1;
+
+/**
+ * Order in which queued submissions reach a worker
+ *
+ * FIFO - order of arrival (original design)
+ * EDF  - earliest exam deadline first; ties keep arrival order
+ */
+public enum SchedulingPolicy {
+    FIFO("First In, First Out"),
+    EDF("Earliest Deadline First");
+
+    private final String displayName;
+
+    SchedulingPolicy(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
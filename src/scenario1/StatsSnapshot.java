@@ -0,0 +1,288 @@
+package scenario1;
+
+/**
+ * Immutable copy of SubmissionStats
+ *
+ * Taken without locking, one field at a time: while a run is in progress
+ * the counters may be mutually inconsistent (e.g. a few submissions apart).
+ * Derived values (rate, throughput, percentiles) are computed from this one
+ * copy, so they do not change after it is taken
+ */
+public class StatsSnapshot {
+    private final ExecutionMode executionMode;
+    private final int concurrencyLimit;
+    private final long successfulSubmissions;
+    private final long failedSubmissions;
+    private final long firstTrySuccesses;
+    private final long retrySuccesses;
+    private final long retries;
+    private final long retriesDenied;
+    private final long hedgesLaunched;
+    private final long hedgeWins;
+    private final long timedOutSubmissions;
+    private final long notStarted;
+    private final long duplicates;
+    private final long rejected;
+    private final long payloadUploads;
+    private final long payloadBytes;
+    private final long payloadDuplicates;
+    private final long onTime;
+    private final long late;
+    private final long shed;
+    private final long allocatedBytes;
+    private final long elapsedNanos;
+    private final LatencyHistogram.Snapshot latency;
+    private final LatencyHistogram.Snapshot queueWait;
+    private final LatencyHistogram.Snapshot serviceTime;
+
+    StatsSnapshot(ExecutionMode executionMode,
+                  int concurrencyLimit,
+                  long successfulSubmissions,
+                  long failedSubmissions,
+                  long firstTrySuccesses,
+                  long retrySuccesses,
+                  long retries,
+                  long retriesDenied,
+                  long hedgesLaunched,
+                  long hedgeWins,
+                  long timedOutSubmissions,
+                  long notStarted,
+                  long duplicates,
+                  long rejected,
+                  long payloadUploads,
+                  long payloadBytes,
+                  long payloadDuplicates,
+                  long onTime,
+                  long late,
+                  long shed,
+                  long allocatedBytes,
+                  long elapsedNanos,
+                  LatencyHistogram.Snapshot latency,
+                  LatencyHistogram.Snapshot queueWait,
+                  LatencyHistogram.Snapshot serviceTime) {
+        this.executionMode = executionMode;
+        this.concurrencyLimit = concurrencyLimit;
+        this.successfulSubmissions = successfulSubmissions;
+        this.failedSubmissions = failedSubmissions;
+        this.firstTrySuccesses = firstTrySuccesses;
+        this.retrySuccesses = retrySuccesses;
+        this.retries = retries;
+        this.retriesDenied = retriesDenied;
+        this.hedgesLaunched = hedgesLaunched;
+        this.hedgeWins = hedgeWins;
+        this.timedOutSubmissions = timedOutSubmissions;
+        this.notStarted = notStarted;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+        this.payloadUploads = payloadUploads;
+        this.payloadBytes = payloadBytes;
+        this.payloadDuplicates = payloadDuplicates;
+        this.onTime = onTime;
+        this.late = late;
+        this.shed = shed;
+        this.allocatedBytes = allocatedBytes;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+        this.queueWait = queueWait;
+        this.serviceTime = serviceTime;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * In-flight limit at the time of the snapshot
+     */
+    public int getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public long getSuccessfulSubmissions() {
+        return successfulSubmissions;
+    }
+
+    public long getFailedSubmissions() {
+        return failedSubmissions;
+    }
+
+    /**
+     * Submissions interrupted at their per-submission or run deadline
+     */
+    public long getTimedOutSubmissions() {
+        return timedOutSubmissions;
+    }
+
+    /**
+     * Students never started because the run deadline passed first
+     */
+    public long getNotStarted() {
+        return notStarted;
+    }
+
+    /**
+     * Resubmissions short-circuited by the student-id index (not in totals)
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Non-blocking submits answered BUSY because the window was full (not in totals)
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getPayloadUploads() {
+        return payloadUploads;
+    }
+
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    /**
+     * Uploads whose content was already stored (not copied again)
+     */
+    public long getPayloadDuplicates() {
+        return payloadDuplicates;
+    }
+
+    /**
+     * Successful submissions finished by their exam deadline
+     */
+    public long getOnTime() {
+        return onTime;
+    }
+
+    /**
+     * Successful submissions finished after their exam deadline
+     */
+    public long getLate() {
+        return late;
+    }
+
+    /**
+     * Submissions skipped because they could not meet their deadline (not in totals)
+     */
+    public long getShed() {
+        return shed;
+    }
+
+    /**
+     * Heap allocated by the producer and workers for submissions
+     * (threads the JVM cannot measure, e.g. virtual threads, are missing)
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public double getAllocatedBytesPerSubmission() {
+        long total = getTotalSubmissions();
+        if (total == 0) return 0.0;
+        return (double) allocatedBytes / total;
+    }
+
+    /**
+     * Allocation rate over the run
+     */
+    public double getAllocationMegabytesPerSecond() {
+        if (elapsedNanos <= 0) return 0.0;
+        return (allocatedBytes / 1_048_576.0) / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Uploaded payload volume per second of run time
+     */
+    public double getPayloadMegabytesPerSecond() {
+        if (elapsedNanos <= 0) return 0.0;
+        return (payloadBytes / 1_048_576.0) / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    public long getTotalSubmissions() {
+        return successfulSubmissions + failedSubmissions + timedOutSubmissions;
+    }
+
+    /**
+     * Successes on the first attempt
+     */
+    public long getFirstTrySuccesses() {
+        return firstTrySuccesses;
+    }
+
+    /**
+     * Successes that needed at least one retry
+     */
+    public long getRetrySuccesses() {
+        return retrySuccesses;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public long getRetriesDenied() {
+        return retriesDenied;
+    }
+
+    public long getHedgesLaunched() {
+        return hedgesLaunched;
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins;
+    }
+
+    /**
+     * Extra attempts (retries + hedges) as a percentage of submissions
+     */
+    public double getExtraLoadPercent() {
+        long total = getTotalSubmissions();
+        if (total == 0) return 0.0;
+        return ((double) (retries + hedgesLaunched) / total) * 100;
+    }
+
+    /**
+     * Elapsed run time (up to now if the run has not finished)
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Success rate as percentage
+     */
+    public double getSuccessRate() {
+        long total = getTotalSubmissions();
+        if (total == 0) return 0.0;
+        return ((double) successfulSubmissions / total) * 100;
+    }
+
+    /**
+     * Submissions per second
+     */
+    public double getThroughput() {
+        if (elapsedNanos <= 0) return 0.0;
+        return getTotalSubmissions() / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * End-to-end latency (queue wait + service)
+     */
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram.Snapshot getQueueWait() {
+        return queueWait;
+    }
+
+    public LatencyHistogram.Snapshot getServiceTime() {
+        return serviceTime;
+    }
+}
@@ -1,6 +1,6 @@
 package scenario1;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a student submitting an exam
@@ -9,15 +9,34 @@ import java.util.Random;
 public class Student {
     private int studentId;
     private String name;
-    private Random random;
+    private int maxSubmitTimeMs;
+
+    // Upper bound of the simulated submission time
+    public static final int DEFAULT_MAX_SUBMIT_TIME_MS = 100;
 
     /**
      * Constructor matching UML specification
      */
     public Student(int studentId, String name) {
+        this(studentId, name, DEFAULT_MAX_SUBMIT_TIME_MS);
+    }
+
+    /**
+     * Constructor with configurable submission time
+     * @param maxSubmitTimeMs Upper bound of simulated processing time;
+     *                        0 skips the sleep (benchmarks measure framework overhead)
+     */
+    public Student(int studentId, String name, int maxSubmitTimeMs) {
         this.studentId = studentId;
         this.name = name;
-        this.random = new Random();
+        this.maxSubmitTimeMs = maxSubmitTimeMs;
+    }
+
+    /**
+     * Build the display name for a student id
+     */
+    public static String nameFor(int studentId) {
+        return "Student_" + studentId;
     }
 
     /**
@@ -39,15 +58,29 @@ public class Student {
      * Returns boolean indicating success/failure
      *
      * CONCURRENCY: Each Student object accessed by single thread only
-     * Random instance per student eliminates contention
+     * ThreadLocalRandom eliminates contention (and a Random per student)
      *
      * @return true if submission successful, false if failed
      * @throws InterruptedException if interrupted during submission
      */
     public boolean submitExam() throws InterruptedException {
-        // Simulate variable processing time (0-100ms)
-        int simulateTime = random.nextInt(100);
-        Thread.sleep(simulateTime);
+        return simulateSubmission(maxSubmitTimeMs);
+    }
+
+    /**
+     * The submission itself, without a Student object
+     * (NewSubmissionSystem's hot path works on primitive ids)
+     *
+     * @param maxSubmitTimeMs Upper bound of simulated processing time, 0 = no sleep
+     * @return true if submission successful, false if failed
+     */
+    public static boolean simulateSubmission(int maxSubmitTimeMs) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Simulate variable processing time (0-100ms by default)
+        if (maxSubmitTimeMs > 0) {
+            int simulateTime = random.nextInt(maxSubmitTimeMs);
+            Thread.sleep(simulateTime);
+        }
 
         // 5% failure rate
         int randomNumber = random.nextInt(100);
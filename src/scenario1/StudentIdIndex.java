@@ -0,0 +1,113 @@
+package scenario1;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Concurrent set of student ids, one bit per id
+ *
+ * STRUCTURE: paged bitset. Ids 0..Integer.MAX_VALUE map to 32,768 pages of
+ * 65,536 bits (8 KB each); a page is only allocated when an id in its range
+ * is first marked. The page directory itself (32,768 references, 128 KB with
+ * compressed oops, 256 KB without) is allocated up front, so 1,000,000
+ * consecutive ids cost about 128 KB of pages + the directory = ~256 KB
+ *
+ * THREAD SAFETY: lock-free; pages are installed with a CAS and bits are
+ * set/cleared with a CAS on their 64-bit word
+ */
+public class StudentIdIndex {
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / Long.SIZE;
+    private static final int PAGE_COUNT = 1 << (Integer.SIZE - 1 - PAGE_BITS);
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGE_COUNT);
+
+    /**
+     * Add an id
+     * @return true if the id was not present (first submission)
+     */
+    public boolean markIfAbsent(int studentId) {
+        AtomicLongArray page = pageFor(studentId, true);
+        int word = wordIndex(studentId);
+        long bit = 1L << studentId;     // shift uses the low 6 bits
+        while (true) {
+            long current = page.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (page.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remove an id (e.g. the submission failed and may be sent again)
+     */
+    public void clear(int studentId) {
+        AtomicLongArray page = pageFor(studentId, false);
+        if (page == null) {
+            return;
+        }
+        int word = wordIndex(studentId);
+        long bit = 1L << studentId;
+        while (true) {
+            long current = page.get(word);
+            if ((current & bit) == 0 || page.compareAndSet(word, current, current & ~bit)) {
+                return;
+            }
+        }
+    }
+
+    public boolean contains(int studentId) {
+        AtomicLongArray page = pageFor(studentId, false);
+        return page != null && (page.get(wordIndex(studentId)) & (1L << studentId)) != 0;
+    }
+
+    /**
+     * Number of ids present (walks every allocated page)
+     */
+    public long size() {
+        long count = 0;
+        for (int p = 0; p < PAGE_COUNT; p++) {
+            AtomicLongArray page = pages.get(p);
+            if (page != null) {
+                for (int w = 0; w < WORDS_PER_PAGE; w++) {
+                    count += Long.bitCount(page.get(w));
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Approximate heap used by the directory and allocated pages
+     * (directory counted at 4 bytes per reference, i.e. compressed oops)
+     */
+    public long getAllocatedBytes() {
+        long allocated = (long) PAGE_COUNT * Integer.BYTES;
+        for (int p = 0; p < PAGE_COUNT; p++) {
+            if (pages.get(p) != null) {
+                allocated += (long) WORDS_PER_PAGE * Long.BYTES;
+            }
+        }
+        return allocated;
+    }
+
+    private AtomicLongArray pageFor(int studentId, boolean create) {
+        if (studentId < 0) {
+            throw new IllegalArgumentException("Student id must not be negative: " + studentId);
+        }
+        int pageIndex = studentId >>> PAGE_BITS;
+        AtomicLongArray page = pages.get(pageIndex);
+        if (page == null && create) {
+            AtomicLongArray fresh = new AtomicLongArray(WORDS_PER_PAGE);
+            page = pages.compareAndSet(pageIndex, null, fresh) ? fresh : pages.get(pageIndex);
+        }
+        return page;
+    }
+
+    private static int wordIndex(int studentId) {
+        return (studentId & ((1 << PAGE_BITS) - 1)) >>> 6;
+    }
+}
@@ -0,0 +1,13 @@
+package scenario1;
+
+/**
+ * Completion hook for NewSubmissionSystem.submit()
+ *
+ * Called exactly once per submit(): on the caller's thread for DUPLICATE
+ * and BUSY, otherwise on the worker thread that processed the submission,
+ * so implementations must be quick and thread-safe
+ */
+@FunctionalInterface
+public interface SubmissionCallback {
+    void onComplete(int studentId, SubmissionResult result);
+}
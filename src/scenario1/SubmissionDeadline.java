@@ -0,0 +1,57 @@
+package scenario1;
+
+import java.util.concurrent.Future;
+
+/**
+ * Deadline guard for one running submission
+ *
+ * expire() (from the timeout scheduler or the run deadline) interrupts
+ * the worker, which breaks it out of Thread.sleep/blocking I/O and frees
+ * it for the next task
+ *
+ * THREAD SAFETY: expire() and finish() synchronize on this object, so the
+ * worker is only interrupted while it is still running this submission
+ * and finish() clears any interrupt that was meant for it
+ */
+class SubmissionDeadline {
+    private final Thread worker;
+    private boolean running = true;
+    private boolean expired;
+    private Future<?> timer;
+
+    SubmissionDeadline(Thread worker) {
+        this.worker = worker;
+    }
+
+    /**
+     * Attach the scheduled timeout so finish() can cancel it
+     */
+    synchronized void setTimer(Future<?> timer) {
+        this.timer = timer;
+    }
+
+    /**
+     * Deadline reached: interrupt the worker if it is still busy
+     */
+    synchronized void expire() {
+        if (running && !expired) {
+            expired = true;
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Called by the worker when the submission ends
+     * @return true if the deadline expired first (submission timed out)
+     */
+    synchronized boolean finish() {
+        running = false;
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        if (expired) {
+            Thread.interrupted();
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,420 @@
+package scenario1;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal of submission outcomes
+ *
+ * FILES: fixed-size memory-mapped segments journal-000001.log, -000002, ...
+ * When a segment fills up the next one is mapped; a new journal always
+ * starts a fresh segment after the existing ones, so earlier runs are kept
+ *
+ * RECORD (40 bytes, little-endian):
+ *   0 int  studentId
+ *   4 int  outcome code (see Outcome)
+ *   8 long timestamp (epoch millis)
+ *  16 long queue wait (ns)
+ *  24 long service time (ns)
+ *  32 int  CRC32 of bytes 0-31 (detects torn/unwritten records)
+ *  36 int  reserved
+ *
+ * GROUP COMMIT: append() only copies the record into the mapping (no I/O).
+ * A background thread forces everything appended so far with one fsync
+ * and wakes all waiters; records appended while an fsync is running make
+ * up the next batch, so under load many submissions share each fsync
+ *
+ * THREAD SAFETY: appends and segment rolls happen under one lock (a 40 byte
+ * copy); fsync runs outside it
+ */
+public class SubmissionJournal implements AutoCloseable {
+    public static final int RECORD_SIZE = 40;
+    public static final int DEFAULT_RECORDS_PER_SEGMENT = 65_536;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Outcome stored with each record
+     */
+    public enum Outcome {
+        SUCCESS(1),
+        FAILURE(2),
+        TIMEOUT(3);
+
+        private final int code;
+
+        Outcome(int code) {
+            this.code = code;
+        }
+
+        static Outcome fromCode(int code) {
+            for (Outcome outcome : values()) {
+                if (outcome.code == code) {
+                    return outcome;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workPending = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final Thread syncThread;
+
+    // Guarded by lock
+    private final Deque<Segment> fullSegments = new ArrayDeque<>();
+    private Segment current;
+    private int nextSegmentNumber;
+    private long appendedRecords;
+    private long durableRecords;
+    private long syncCount;
+    private IOException syncFailure;
+    private boolean closed;
+
+    /**
+     * Open a journal in the given directory (created if missing)
+     * @param recordsPerSegment Records per mapped segment file
+     */
+    public SubmissionJournal(Path directory, int recordsPerSegment) throws IOException {
+        if (recordsPerSegment <= 0) {
+            throw new IllegalArgumentException("recordsPerSegment must be positive: " + recordsPerSegment);
+        }
+        this.directory = directory;
+        this.segmentBytes = recordsPerSegment * RECORD_SIZE;
+        Files.createDirectories(directory);
+
+        List<Path> existing = segmentFiles(directory);
+        this.nextSegmentNumber = existing.isEmpty() ? 1 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+        this.current = openSegment(nextSegmentNumber++);
+
+        this.syncThread = new Thread(this::syncLoop, "journal-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    public SubmissionJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_RECORDS_PER_SEGMENT);
+    }
+
+    /**
+     * Append one record (memory copy only, not yet durable)
+     * @return sequence number to pass to awaitDurable()
+     */
+    public long append(int studentId, Outcome outcome, long queueWaitNanos, long serviceNanos)
+            throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Journal is closed");
+            }
+            if (current.writeOffset == segmentBytes) {
+                fullSegments.add(current);
+                current = openSegment(nextSegmentNumber++);
+            }
+            writeRecord(current.buffer, current.writeOffset,
+                    studentId, outcome, System.currentTimeMillis(), queueWaitNanos, serviceNanos);
+            current.writeOffset += RECORD_SIZE;
+            appendedRecords++;
+            workPending.signal();
+            return appendedRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block until the record with this sequence number has been fsynced
+     * @throws IOException if the fsync covering it failed
+     */
+    public void awaitDurable(long sequence) throws InterruptedException, IOException {
+        lock.lock();
+        try {
+            while (durableRecords < sequence) {
+                if (syncFailure != null) {
+                    throw syncFailure;
+                }
+                if (closed && !syncThread.isAlive()) {
+                    throw new IOException("Journal closed before record " + sequence + " was synced");
+                }
+                synced.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Append and wait for the group commit that covers the record
+     */
+    public void appendDurably(int studentId, Outcome outcome, long queueWaitNanos, long serviceNanos)
+            throws InterruptedException, IOException {
+        awaitDurable(append(studentId, outcome, queueWaitNanos, serviceNanos));
+    }
+
+    /**
+     * Group-commit loop: fsync whatever was appended since the last pass
+     */
+    private void syncLoop() {
+        while (true) {
+            long target;
+            List<Segment> toForce = new ArrayList<>();
+            int fromOffset;
+            int toOffset;
+            Segment active;
+
+            lock.lock();
+            try {
+                while (appendedRecords == durableRecords && !closed) {
+                    workPending.awaitUninterruptibly();
+                }
+                if (appendedRecords == durableRecords) {
+                    return;     // closed and nothing left to sync
+                }
+                target = appendedRecords;
+                toForce.addAll(fullSegments);
+                fullSegments.clear();
+                active = current;
+                fromOffset = active.syncedOffset;
+                toOffset = active.writeOffset;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException failure = null;
+            try {
+                for (Segment segment : toForce) {
+                    segment.buffer.force(segment.syncedOffset, segmentBytes - segment.syncedOffset);
+                }
+                if (toOffset > fromOffset) {
+                    active.buffer.force(fromOffset, toOffset - fromOffset);
+                }
+            } catch (RuntimeException e) {
+                failure = e instanceof UncheckedIOException
+                        ? ((UncheckedIOException) e).getCause() : new IOException(e);
+            } finally {
+                // Full segments are done with even if a force failed
+                for (Segment segment : toForce) {
+                    closeQuietly(segment);
+                }
+            }
+
+            lock.lock();
+            try {
+                if (failure != null) {
+                    syncFailure = failure;
+                } else {
+                    active.syncedOffset = Math.max(active.syncedOffset, toOffset);
+                    durableRecords = target;
+                    syncCount++;
+                }
+                synced.signalAll();
+                if (failure != null) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Records appended so far
+     */
+    public long getRecordCount() {
+        lock.lock();
+        try {
+            return appendedRecords;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of fsync batches (records / syncs = average group size)
+     */
+    public long getSyncCount() {
+        lock.lock();
+        try {
+            return syncCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Sync everything still pending, then release the files
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            workPending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            syncThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            // Left over only if the sync thread stopped after a failure
+            for (Segment segment : fullSegments) {
+                closeQuietly(segment);
+            }
+            fullSegments.clear();
+        } finally {
+            lock.unlock();
+        }
+        current.channel.close();
+        if (syncFailure != null) {
+            throw syncFailure;
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (IOException ignored) {
+            // the sync result is what matters; the handle is released either way
+        }
+    }
+
+    /**
+     * Rebuild statistics from every valid record in a journal directory
+     * Stops at the first torn or unwritten record of each segment
+     *
+     * @param directory Journal directory (missing = nothing to recover)
+     * @param stats Stats to add the recovered outcomes to
+     * @return Number of records recovered
+     */
+    public static long recover(Path directory, SubmissionStats stats) throws IOException {
+        return recover(directory, stats, null);
+    }
+
+    /**
+     * Rebuild statistics and the set of students whose submission was accepted
+     * @param submitted Index to mark successful student ids in (null = skip)
+     */
+    public static long recover(Path directory, SubmissionStats stats, StudentIdIndex submitted)
+            throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long recovered = 0;
+        for (Path file : segmentFiles(directory)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                for (int offset = 0; offset + RECORD_SIZE <= buffer.limit(); offset += RECORD_SIZE) {
+                    if (buffer.getInt(offset + 32) != checksum(buffer, offset)) {
+                        break;
+                    }
+                    Outcome outcome = Outcome.fromCode(buffer.getInt(offset + 4));
+                    if (outcome == null) {
+                        break;
+                    }
+                    long queueWaitNanos = buffer.getLong(offset + 16);
+                    long serviceNanos = buffer.getLong(offset + 24);
+                    if (outcome == Outcome.SUCCESS && submitted != null) {
+                        submitted.markIfAbsent(buffer.getInt(offset));
+                    }
+                    switch (outcome) {
+                        case SUCCESS: stats.recordSuccess(queueWaitNanos, serviceNanos); break;
+                        case FAILURE: stats.recordFailure(queueWaitNanos, serviceNanos); break;
+                        default: stats.recordTimeout(queueWaitNanos, serviceNanos); break;
+                    }
+                    recovered++;
+                }
+            }
+        }
+        return recovered;
+    }
+
+    private Segment openSegment(int number) throws IOException {
+        Path file = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return new Segment(channel, buffer);
+    }
+
+    private static void writeRecord(ByteBuffer buffer, int offset, int studentId, Outcome outcome,
+                                    long timestampMillis, long queueWaitNanos, long serviceNanos) {
+        buffer.putInt(offset, studentId);
+        buffer.putInt(offset + 4, outcome.code);
+        buffer.putLong(offset + 8, timestampMillis);
+        buffer.putLong(offset + 16, queueWaitNanos);
+        buffer.putLong(offset + 24, serviceNanos);
+        buffer.putInt(offset + 32, checksum(buffer, offset));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, 32));
+        return (int) crc.getValue();
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "[0-9]*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * One mapped segment file
+     * writeOffset/syncedOffset are guarded by the journal lock
+     */
+    private static final class Segment {
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int writeOffset;
+        int syncedOffset;
+
+        Segment(FileChannel channel, MappedByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
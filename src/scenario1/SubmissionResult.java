@@ -0,0 +1,40 @@
+package scenario1;
+
+/**
+ * Final answer for one submission, as reported to a SubmissionCallback
+ * and sent back over the wire by SubmissionServer
+ */
+public enum SubmissionResult {
+    SUCCESS(0),
+    FAILURE(1),
+    TIMEOUT(2),
+    DUPLICATE(3),   // student already submitted or still in flight; no work done
+    BUSY(4),        // in-flight window full; not accepted, try again later
+    SHED(5),        // could not finish before its exam deadline; not attempted
+    INVALID(6);     // malformed request (e.g. negative student id); rejected by the server
+
+    private final int code;
+
+    SubmissionResult(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Wire code (stable, unlike ordinal())
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * @return the result for a wire code, or null if unknown
+     */
+    public static SubmissionResult fromCode(int code) {
+        for (SubmissionResult result : values()) {
+            if (result.code == code) {
+                return result;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,351 @@
+package scenario1;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * TCP front end for NewSubmissionSystem
+ *
+ * ONE selector thread accepts connections, reads requests and writes
+ * responses; it never runs a submission and never blocks (submit() answers
+ * BUSY when the in-flight window is full). Workers hand results back
+ * through a per-connection outbox and wake the selector
+ *
+ * WIRE FORMAT (fixed 8-byte frames, big-endian, pipelining allowed):
+ *   request : int studentId, int reserved (0)
+ *   response: int studentId, int SubmissionResult code
+ * Responses may arrive in any order; match them by studentId. A negative
+ * studentId is answered with INVALID
+ *
+ * BUFFERS: each connection borrows one read and one write buffer from a
+ * shared pool of direct buffers and returns them when it closes
+ */
+public class SubmissionServer implements AutoCloseable {
+    public static final int FRAME_BYTES = 8;
+    private static final int BUFFER_BYTES = 16 * 1024;
+    private static final int MAX_POOLED_BUFFERS = 4096;
+
+    private final NewSubmissionSystem system;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ByteBufferPool bufferPool = new ByteBufferPool(BUFFER_BYTES, MAX_POOLED_BUFFERS);
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final Thread selectorThread;
+    private volatile boolean running;
+
+    // Written by the selector thread only
+    private volatile long connectionsAccepted;
+    private volatile long requestsReceived;
+    private volatile long responsesSent;
+
+    /**
+     * Bind the listening socket (port 0 = any free port)
+     * @param system Started with startServing() before clients connect
+     */
+    public SubmissionServer(NewSubmissionSystem system, InetSocketAddress address) throws IOException {
+        this.system = system;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.selectorThread = new Thread(this::selectLoop, "submission-server");
+    }
+
+    /**
+     * Start the selector thread
+     */
+    public void start() {
+        running = true;
+        selectorThread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void selectLoop() {
+        try {
+            while (running) {
+                flushPendingWrites();
+                selector.select();
+                wakeupPending.set(false);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.flush();
+                        }
+                    } catch (IOException e) {
+                        connection.close();
+                    } catch (RuntimeException e) {
+                        // A bug or bad input on one connection must not stop the selector
+                        System.err.println("Closing connection after error: " + e);
+                        connection.close();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            if (running) {
+                System.err.println("Submission server stopped: " + e.getMessage());
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            connectionsAccepted++;
+        }
+    }
+
+    /**
+     * Write out results that workers queued since the last pass
+     */
+    private void flushPendingWrites() {
+        Connection connection;
+        while ((connection = pendingWrites.poll()) != null) {
+            try {
+                connection.flush();
+            } catch (IOException e) {
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Called by workers: queue the connection and wake the selector once
+     */
+    private void scheduleWrite(Connection connection) {
+        pendingWrites.add(connection);
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    public long getConnectionsAccepted() {
+        return connectionsAccepted;
+    }
+
+    public long getRequestsReceived() {
+        return requestsReceived;
+    }
+
+    public long getResponsesSent() {
+        return responsesSent;
+    }
+
+    /**
+     * Stop accepting and close every connection
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof Connection) {
+                ((Connection) key.attachment()).close();
+            }
+        }
+        serverChannel.close();
+        selector.close();
+    }
+
+    /**
+     * One client connection; also the callback for its submissions
+     *
+     * Buffers and the key are used by the selector thread only; the outbox
+     * is shared with workers and guarded by this object's monitor
+     */
+    private final class Connection implements SubmissionCallback {
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer;
+        private final ByteBuffer writeBuffer;   // kept in read mode (flipped) between flushes
+        private SelectionKey key;
+
+        // Guarded by this: results waiting for the selector (studentId << 32 | code)
+        private long[] outbox = new long[64];
+        private int outboxSize;
+        private boolean scheduled;
+        private boolean closed;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.readBuffer = bufferPool.acquire();
+            this.writeBuffer = bufferPool.acquire();
+            writeBuffer.flip();
+        }
+
+        /**
+         * Decode every complete frame and hand it to the submission system
+         * (a negative student id is answered with INVALID, not submitted)
+         */
+        void read() throws IOException {
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                close();
+                return;
+            }
+            readBuffer.flip();
+            while (readBuffer.remaining() >= FRAME_BYTES) {
+                int studentId = readBuffer.getInt();
+                readBuffer.getInt();    // reserved
+                requestsReceived++;
+                if (studentId < 0) {
+                    onComplete(studentId, SubmissionResult.INVALID);
+                } else {
+                    system.submit(studentId, this);
+                }
+            }
+            readBuffer.compact();
+        }
+
+        @Override
+        public void onComplete(int studentId, SubmissionResult result) {
+            boolean schedule;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (outboxSize == outbox.length) {
+                    outbox = Arrays.copyOf(outbox, outbox.length * 2);
+                }
+                outbox[outboxSize++] = ((long) studentId << 32) | result.getCode();
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) {
+                if (Thread.currentThread() == selectorThread) {
+                    // BUSY/DUPLICATE answered inline: flushed before the next select
+                    pendingWrites.add(this);
+                } else {
+                    scheduleWrite(this);
+                }
+            }
+        }
+
+        /**
+         * Move queued results into the write buffer and write what the socket takes
+         */
+        void flush() throws IOException {
+            boolean more;
+            synchronized (this) {
+                if (closed) {
+                    return;     // buffers already back in the pool
+                }
+                scheduled = false;
+                writeBuffer.compact();
+                int fit = Math.min(outboxSize, writeBuffer.remaining() / FRAME_BYTES);
+                for (int i = 0; i < fit; i++) {
+                    writeBuffer.putInt((int) (outbox[i] >>> 32));
+                    writeBuffer.putInt((int) outbox[i]);
+                }
+                System.arraycopy(outbox, fit, outbox, 0, outboxSize - fit);
+                outboxSize -= fit;
+                responsesSent += fit;
+                more = outboxSize > 0;
+            }
+            writeBuffer.flip();
+            channel.write(writeBuffer);
+
+            // Socket full or results left over: finish when it becomes writable
+            boolean pending = more || writeBuffer.hasRemaining();
+            if (key.isValid()) {
+                key.interestOps(pending
+                        ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                        : SelectionKey.OP_READ);
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+            bufferPool.release(readBuffer);
+            bufferPool.release(writeBuffer);
+        }
+    }
+
+    /**
+     * Standalone server: java scenario1.SubmissionServer [--port=9090]
+     *   [--mode=FIXED_POOL|VIRTUAL_THREADS] [--pool=N] [--submit-ms=N]
+     * Serves until Enter is pressed, then prints the statistics
+     */
+    public static void main(String[] args) throws Exception {
+        int port = 9090;
+        ExecutionMode mode = ExecutionMode.FIXED_POOL;
+        int poolSize = Runtime.getRuntime().availableProcessors() * 2;
+        int submitMs = Student.DEFAULT_MAX_SUBMIT_TIME_MS;
+        for (String arg : args) {
+            String[] option = BatchRunner.splitOption(arg);
+            switch (option[0]) {
+                case "port": port = BatchRunner.parseNonNegative(option[0], option[1]); break;
+                case "mode": mode = BatchRunner.parseModes(option[1]).get(0); break;
+                case "pool": poolSize = BatchRunner.parsePositive(option[0], option[1]); break;
+                case "submit-ms": submitMs = BatchRunner.parseNonNegative(option[0], option[1]); break;
+                default: throw new IllegalArgumentException("Unknown option: --" + option[0]);
+            }
+        }
+
+        NewSubmissionSystem system = new NewSubmissionSystem(mode, poolSize, 0);
+        system.setMaxSubmitTimeMs(submitMs);
+        system.startServing();
+        try (SubmissionServer server = new SubmissionServer(system, new InetSocketAddress(port))) {
+            server.start();
+            System.out.printf("Listening on port %d - press Enter to stop%n", server.getPort());
+            new Scanner(System.in).nextLine();
+            System.out.printf("Connections: %,d, requests: %,d, responses: %,d%n",
+                    server.getConnectionsAccepted(), server.getRequestsReceived(), server.getResponsesSent());
+        }
+        system.stopServing();
+        system.displayResults();
+        system.shutdown();
+    }
+}
@@ -1,84 +1,327 @@
 package scenario1;
 
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
 
 /**
  * Thread-safe statistics tracker for submission system
- * Uses AtomicInteger for lock-free concurrent updates
+ * Uses striped LongAdder counters and striped histograms, so workers
+ * never contend on a single cache line; readers merge on demand via
+ * snapshot() without blocking writers
+ *
+ * Latency is measured with System.nanoTime() and split into:
+ * - queue wait: task handed to executor -> worker starts it
+ * - service:    time spent inside Student.submitExam()
+ * - total:      queue wait + service
  */
 public class SubmissionStats {
-    private final AtomicInteger successfulSubmissions;
-    private final AtomicInteger failedSubmissions;
-    private final AtomicLong startTime;
-    private final AtomicLong endTime;
+    private final LongAdder successfulSubmissions;
+    private final LongAdder failedSubmissions;
+    private final LongAdder firstTrySuccesses;
+    private final LongAdder retrySuccesses;
+    private final LongAdder retries;
+    private final LongAdder retriesDenied;
+    private final LongAdder hedgesLaunched;
+    private final LongAdder hedgeWins;
+    private final LongAdder timedOutSubmissions;
+    private final LongAdder notStarted;
+    private final LongAdder duplicates;
+    private final LongAdder rejected;
+    private final LongAdder payloadUploads;
+    private final LongAdder payloadBytes;
+    private final LongAdder payloadDuplicates;
+    private final LongAdder onTime;
+    private final LongAdder late;
+    private final LongAdder shed;
+    private final LongAdder allocatedBytes;
+    private final AtomicLong startNanos;
+    private final AtomicLong endNanos;
+    private final LatencyHistogram totalLatency;
+    private final LatencyHistogram queueWait;
+    private final LatencyHistogram serviceTime;
+    private volatile ExecutionMode executionMode;
+    private volatile IntSupplier concurrencyLimitGauge;
+
+    private static final double[] REPORTED_PERCENTILES = {50.0, 90.0, 99.0, 99.9};
 
     /**
      * Constructor initializes all counters to zero
      */
     public SubmissionStats() {
-        this.successfulSubmissions = new AtomicInteger(0);
-        this.failedSubmissions = new AtomicInteger(0);
-        this.startTime = new AtomicLong(0);
-        this.endTime = new AtomicLong(0);
+        this.successfulSubmissions = new LongAdder();
+        this.failedSubmissions = new LongAdder();
+        this.firstTrySuccesses = new LongAdder();
+        this.retrySuccesses = new LongAdder();
+        this.retries = new LongAdder();
+        this.retriesDenied = new LongAdder();
+        this.hedgesLaunched = new LongAdder();
+        this.hedgeWins = new LongAdder();
+        this.timedOutSubmissions = new LongAdder();
+        this.notStarted = new LongAdder();
+        this.duplicates = new LongAdder();
+        this.rejected = new LongAdder();
+        this.payloadUploads = new LongAdder();
+        this.payloadBytes = new LongAdder();
+        this.payloadDuplicates = new LongAdder();
+        this.onTime = new LongAdder();
+        this.late = new LongAdder();
+        this.shed = new LongAdder();
+        this.allocatedBytes = new LongAdder();
+        this.startNanos = new AtomicLong(0);
+        this.endNanos = new AtomicLong(0);
+        this.totalLatency = new LatencyHistogram();
+        this.queueWait = new LatencyHistogram();
+        this.serviceTime = new LatencyHistogram();
+        this.executionMode = ExecutionMode.FIXED_POOL;
     }
 
     /**
      * Record successful submission
-     * THREAD SAFETY: AtomicInteger.incrementAndGet() is atomic
+     * THREAD SAFETY: LongAdder spreads increments over per-thread cells
      */
     public void recordSuccess() {
-        successfulSubmissions.incrementAndGet();
+        successfulSubmissions.increment();
+    }
+
+    /**
+     * Record successful submission with its timings
+     * @param queueWaitNanos Time spent waiting for a worker
+     * @param serviceNanos Time spent processing the submission
+     */
+    public void recordSuccess(long queueWaitNanos, long serviceNanos) {
+        recordSuccess();
+        recordLatency(queueWaitNanos, serviceNanos);
     }
 
     /**
      * Record failed submission
-     * THREAD SAFETY: AtomicInteger.incrementAndGet() is atomic
+     * THREAD SAFETY: LongAdder spreads increments over per-thread cells
      */
     public void recordFailure() {
-        failedSubmissions.incrementAndGet();
+        failedSubmissions.increment();
+    }
+
+    /**
+     * Record failed submission with its timings
+     * @param queueWaitNanos Time spent waiting for a worker
+     * @param serviceNanos Time spent processing the submission
+     */
+    public void recordFailure(long queueWaitNanos, long serviceNanos) {
+        recordFailure();
+        recordLatency(queueWaitNanos, serviceNanos);
+    }
+
+    /**
+     * Record submission cancelled at its deadline (counted apart from failures)
+     * @param queueWaitNanos Time spent waiting for a worker
+     * @param serviceNanos Time spent before the submission was interrupted
+     */
+    public void recordTimeout(long queueWaitNanos, long serviceNanos) {
+        timedOutSubmissions.increment();
+        recordLatency(queueWaitNanos, serviceNanos);
+    }
+
+    /**
+     * Record students never handed to a worker because the run deadline passed
+     */
+    public void recordNotStarted(long count) {
+        notStarted.add(count);
+    }
+
+    /**
+     * Record a resubmission skipped because the student already submitted
+     */
+    public void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    /**
+     * Record a submission turned away because the in-flight window was full
+     * (non-blocking submit() only; the sender may try again)
+     */
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Record an uploaded exam file
+     * @param bytes File size
+     * @param deduplicated Content was already stored (nothing copied)
+     */
+    public void recordPayload(long bytes, boolean deduplicated) {
+        payloadUploads.increment();
+        payloadBytes.add(bytes);
+        if (deduplicated) {
+            payloadDuplicates.increment();
+        }
+    }
+
+    /**
+     * Record whether a successful submission met its exam deadline
+     */
+    public void recordDeadlineOutcome(boolean metDeadline) {
+        if (metDeadline) {
+            onTime.increment();
+        } else {
+            late.increment();
+        }
+    }
+
+    /**
+     * Record a submission skipped because it could not meet its exam deadline
+     */
+    public void recordShed() {
+        shed.increment();
+    }
+
+    /**
+     * Record heap bytes allocated while handing over or running submissions
+     */
+    public void recordAllocation(long bytes) {
+        allocatedBytes.add(bytes);
+    }
+
+    /**
+     * Record how many attempts a submission needed
+     * @param attempts Attempts made (1 = no retries)
+     * @param success Final outcome
+     */
+    public void recordAttempts(int attempts, boolean success) {
+        if (attempts > 1) {
+            retries.add(attempts - 1);
+        }
+        if (success) {
+            if (attempts <= 1) {
+                firstTrySuccesses.increment();
+            } else {
+                retrySuccesses.increment();
+            }
+        }
+    }
+
+    /**
+     * Record a retry refused because the retry budget was empty
+     */
+    public void recordRetryDenied() {
+        retriesDenied.increment();
+    }
+
+    /**
+     * Record a hedge attempt being started
+     */
+    public void recordHedgeLaunched() {
+        hedgesLaunched.increment();
+    }
+
+    /**
+     * Record a hedge finishing successfully before its primary
+     */
+    public void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    private void recordLatency(long queueWaitNanos, long serviceNanos) {
+        queueWait.record(queueWaitNanos);
+        serviceTime.record(serviceNanos);
+        totalLatency.record(queueWaitNanos + serviceNanos);
     }
 
     /**
      * Set start time for performance measurement
      */
     public void setStartTime() {
-        startTime.set(System.currentTimeMillis());
+        startNanos.set(System.nanoTime());
     }
 
     /**
      * Set end time for performance measurement
      */
     public void setEndTime() {
-        endTime.set(System.currentTimeMillis());
+        endNanos.set(System.nanoTime());
+    }
+
+    /**
+     * Set the execution mode reported with the results
+     */
+    public void setExecutionMode(ExecutionMode executionMode) {
+        this.executionMode = executionMode;
+    }
+
+    /**
+     * Get the execution mode that produced these results
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Register where the current concurrency limit is read from
+     * (the submission window; changes over time when adaptive)
+     */
+    public void setConcurrencyLimitGauge(IntSupplier concurrencyLimitGauge) {
+        this.concurrencyLimitGauge = concurrencyLimitGauge;
+    }
+
+    /**
+     * Current concurrency limit (0 if no window registered)
+     */
+    public int getConcurrencyLimit() {
+        IntSupplier gauge = concurrencyLimitGauge;
+        return gauge != null ? gauge.getAsInt() : 0;
     }
 
     /**
      * Get successful submission count
      */
     public int getSuccessfulSubmissions() {
-        return successfulSubmissions.get();
+        return (int) successfulSubmissions.sum();
     }
 
     /**
      * Get failed submission count
      */
     public int getFailedSubmissions() {
-        return failedSubmissions.get();
+        return (int) failedSubmissions.sum();
+    }
+
+    /**
+     * Get timed-out submission count
+     */
+    public int getTimedOutSubmissions() {
+        return (int) timedOutSubmissions.sum();
+    }
+
+    /**
+     * Get count of submissions shed before their exam deadline
+     */
+    public int getShedSubmissions() {
+        return (int) shed.sum();
     }
 
     /**
-     * Get total submissions processed
+     * Get total submissions processed (successful, failed or timed out)
      */
     public int getTotalSubmissions() {
-        return successfulSubmissions.get() + failedSubmissions.get();
+        return getSuccessfulSubmissions() + getFailedSubmissions() + getTimedOutSubmissions();
+    }
+
+    /**
+     * Get total processing time in nanoseconds
+     * While a run is in progress this is the time elapsed so far
+     */
+    public long getTotalTimeNanos() {
+        long start = startNanos.get();
+        if (start == 0) return 0;
+        long end = endNanos.get();
+        return (end != 0 ? end : System.nanoTime()) - start;
     }
 
     /**
      * Get total processing time in milliseconds
      */
     public long getTotalTimeMillis() {
-        return endTime.get() - startTime.get();
+        return getTotalTimeNanos() / 1_000_000;
     }
 
     /**
@@ -92,11 +335,68 @@ public class SubmissionStats {
 
     /**
      * Calculate throughput (submissions per second)
+     * Uses nanosecond elapsed time, so sub-second runs are reported correctly
      */
     public double getThroughput() {
-        long timeSeconds = getTotalTimeMillis() / 1000;
-        if (timeSeconds == 0) return 0.0;
-        return (double) getTotalSubmissions() / timeSeconds;
+        long timeNanos = getTotalTimeNanos();
+        if (timeNanos <= 0) return 0.0;
+        return getTotalSubmissions() / (timeNanos / 1_000_000_000.0);
+    }
+
+    /**
+     * End-to-end latency distribution (queue wait + service)
+     */
+    public LatencyHistogram.Snapshot getLatencySnapshot() {
+        return totalLatency.snapshot();
+    }
+
+    /**
+     * Queue wait distribution (enqueued -> started)
+     */
+    public LatencyHistogram.Snapshot getQueueWaitSnapshot() {
+        return queueWait.snapshot();
+    }
+
+    /**
+     * Service time distribution (time inside submitExam)
+     */
+    public LatencyHistogram.Snapshot getServiceTimeSnapshot() {
+        return serviceTime.snapshot();
+    }
+
+    /**
+     * Copy of every counter and histogram, weakly consistent: each field is
+     * exact, but fields are read at slightly different moments, so totals
+     * taken mid-run may not add up exactly
+     * Never blocks writers, safe to call while submissions are running
+     */
+    public StatsSnapshot snapshot() {
+        return new StatsSnapshot(
+                executionMode,
+                getConcurrencyLimit(),
+                successfulSubmissions.sum(),
+                failedSubmissions.sum(),
+                firstTrySuccesses.sum(),
+                retrySuccesses.sum(),
+                retries.sum(),
+                retriesDenied.sum(),
+                hedgesLaunched.sum(),
+                hedgeWins.sum(),
+                timedOutSubmissions.sum(),
+                notStarted.sum(),
+                duplicates.sum(),
+                rejected.sum(),
+                payloadUploads.sum(),
+                payloadBytes.sum(),
+                payloadDuplicates.sum(),
+                onTime.sum(),
+                late.sum(),
+                shed.sum(),
+                allocatedBytes.sum(),
+                getTotalTimeNanos(),
+                totalLatency.snapshot(),
+                queueWait.snapshot(),
+                serviceTime.snapshot());
     }
 
     /**
@@ -107,16 +407,74 @@ public class SubmissionStats {
         System.out.println("\n" + "=".repeat(70));
         System.out.println("     SUBMISSION SYSTEM STATISTICS - " + method);
         System.out.println("=".repeat(70));
-        System.out.printf("Total Students Processed    : %,d%n", getTotalSubmissions());
-        System.out.printf("Successful Submissions      : %,d%n", getSuccessfulSubmissions());
-        System.out.printf("Failed Submissions          : %,d%n", getFailedSubmissions());
-        System.out.printf("Success Rate                : %.2f%%%n", getSuccessRate());
+        StatsSnapshot snapshot = snapshot();
+        System.out.printf("Execution Mode              : %s%n", snapshot.getExecutionMode().getDisplayName());
+        System.out.printf("Concurrency Limit           : %,d%n", snapshot.getConcurrencyLimit());
+        System.out.printf("Total Students Processed    : %,d%n", snapshot.getTotalSubmissions());
+        System.out.printf("Successful Submissions      : %,d%n", snapshot.getSuccessfulSubmissions());
+        System.out.printf("Failed Submissions          : %,d%n", snapshot.getFailedSubmissions());
+        if (snapshot.getTimedOutSubmissions() > 0 || snapshot.getNotStarted() > 0) {
+            System.out.printf("Timed Out Submissions       : %,d%n", snapshot.getTimedOutSubmissions());
+            System.out.printf("Not Started (run deadline)  : %,d%n", snapshot.getNotStarted());
+        }
+        if (snapshot.getDuplicates() > 0) {
+            System.out.printf("Duplicates Ignored          : %,d%n", snapshot.getDuplicates());
+        }
+        if (snapshot.getRejected() > 0) {
+            System.out.printf("Rejected (window full)      : %,d%n", snapshot.getRejected());
+        }
+        if (snapshot.getOnTime() + snapshot.getLate() + snapshot.getShed() > 0) {
+            System.out.printf("On Time / Late / Shed       : %,d / %,d / %,d%n",
+                    snapshot.getOnTime(), snapshot.getLate(), snapshot.getShed());
+        }
+        System.out.printf("Success Rate                : %.2f%%%n", snapshot.getSuccessRate());
         System.out.printf("Total Processing Time       : %,d ms (%.2f seconds)%n",
                 totalTimeMs, totalTimeMs / 1000.0);
-        System.out.printf("Throughput                  : %.2f submissions/second%n", getThroughput());
+        System.out.printf("Throughput                  : %.2f submissions/second%n", snapshot.getThroughput());
+        if (snapshot.getAllocatedBytes() > 0) {
+            System.out.printf("Allocated per Submission    : %,.0f bytes (%.1f MB/s)%n",
+                    snapshot.getAllocatedBytesPerSubmission(), snapshot.getAllocationMegabytesPerSecond());
+        }
+
+        if (snapshot.getRetries() > 0 || snapshot.getHedgesLaunched() > 0) {
+            System.out.println("-".repeat(70));
+            System.out.printf("First-Try Successes         : %,d%n", snapshot.getFirstTrySuccesses());
+            System.out.printf("Successes After Retry       : %,d%n", snapshot.getRetrySuccesses());
+            System.out.printf("Retries (denied by budget)  : %,d (%,d)%n",
+                    snapshot.getRetries(), snapshot.getRetriesDenied());
+            System.out.printf("Hedges Launched (won)       : %,d (%,d)%n",
+                    snapshot.getHedgesLaunched(), snapshot.getHedgeWins());
+            System.out.printf("Extra Load From Retries     : %.2f%%%n", snapshot.getExtraLoadPercent());
+        }
+
+        if (snapshot.getPayloadUploads() > 0) {
+            System.out.println("-".repeat(70));
+            System.out.printf("Payloads Uploaded (dedup)   : %,d (%,d)%n",
+                    snapshot.getPayloadUploads(), snapshot.getPayloadDuplicates());
+            System.out.printf("Payload Volume              : %,.1f MB (%.1f MB/s)%n",
+                    snapshot.getPayloadBytes() / 1_048_576.0, snapshot.getPayloadMegabytesPerSecond());
+        }
+
+        if (snapshot.getLatency().getCount() > 0) {
+            System.out.println("-".repeat(70));
+            System.out.println("Latency (ms)          mean      p50      p90      p99    p99.9      max");
+            printLatencyRow("Total", snapshot.getLatency());
+            printLatencyRow("Queue wait", snapshot.getQueueWait());
+            printLatencyRow("Service", snapshot.getServiceTime());
+        }
         System.out.println("=".repeat(70) + "\n");
     }
 
+    private void printLatencyRow(String label, LatencyHistogram.Snapshot snapshot) {
+        StringBuilder row = new StringBuilder(String.format("%-16s%9.2f", label,
+                snapshot.getMeanNanos() / 1_000_000.0));
+        for (double percentile : REPORTED_PERCENTILES) {
+            row.append(String.format("%9.2f", snapshot.getPercentileMillis(percentile)));
+        }
+        row.append(String.format("%9.2f", snapshot.getMaxNanos() / 1_000_000.0));
+        System.out.println(row);
+    }
+
     /**
      * Display statistics (backward compatibility)
      */
@@ -128,9 +486,29 @@ public class SubmissionStats {
      * Reset all counters (for testing)
      */
     public void reset() {
-        successfulSubmissions.set(0);
-        failedSubmissions.set(0);
-        startTime.set(0);
-        endTime.set(0);
+        successfulSubmissions.reset();
+        failedSubmissions.reset();
+        firstTrySuccesses.reset();
+        retrySuccesses.reset();
+        retries.reset();
+        retriesDenied.reset();
+        hedgesLaunched.reset();
+        hedgeWins.reset();
+        timedOutSubmissions.reset();
+        notStarted.reset();
+        duplicates.reset();
+        rejected.reset();
+        payloadUploads.reset();
+        payloadBytes.reset();
+        payloadDuplicates.reset();
+        onTime.reset();
+        late.reset();
+        shed.reset();
+        allocatedBytes.reset();
+        startNanos.set(0);
+        endNanos.set(0);
+        totalLatency.reset();
+        queueWait.reset();
+        serviceTime.reset();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+package scenario1;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded window of in-flight submissions
+ * Producer blocks in acquire() once the window is full (backpressure),
+ * so queued work never grows beyond the window size
+ *
+ * CONCURRENCY PATTERN: Lock + Conditions (like a counting semaphore
+ * that can also wait for the window to drain)
+ *
+ * Subclasses may resize the window from onComplete() (see
+ * AdaptiveSubmissionWindow)
+ */
+public class SubmissionWindow {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFree = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+
+    private volatile int limit;
+    private volatile int inFlight;      // written under lock, read without it by monitors
+
+    /**
+     * Constructor
+     * @param limit Maximum submissions in flight at once
+     */
+    public SubmissionWindow(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Window limit must be positive: " + limit);
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * Reserve a slot, blocking while the window is full
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= limit) {
+                slotFree.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve a slot only if one is free right now (never blocks)
+     * @return false if the window is full
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserve a slot, waiting at most the given time
+     * @return false if the window stayed full until the timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = slotFree.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return a slot (called when a submission completes)
+     */
+    public void release() {
+        release(-1);
+    }
+
+    /**
+     * Return a slot and report how long the submission took
+     * @param latencyNanos Enqueue-to-completion time, negative if unknown
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (latencyNanos >= 0) {
+                onComplete(latencyNanos, inFlight);
+            }
+            slotFree.signal();
+            if (inFlight == 0) {
+                drained.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block until every acquired slot has been released
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitIdle() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (inFlight > 0) {
+                drained.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block until idle or the timeout expires
+     * @return true if the window drained in time
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (inFlight > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = drained.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hook for subclasses, called with the lock held on every timed release
+     * @param latencyNanos Latency of the completed submission
+     * @param inFlight Submissions still in flight
+     */
+    protected void onComplete(long latencyNanos, int inFlight) {
+        // Fixed window: nothing to adapt
+    }
+
+    /**
+     * Resize the window (call with the lock held, i.e. from onComplete)
+     * Waiting producers are woken if the window grew
+     */
+    protected void setLimit(int newLimit) {
+        int oldLimit = limit;
+        limit = newLimit;
+        if (newLimit > oldLimit) {
+            slotFree.signalAll();
+        }
+    }
+
+    /**
+     * Largest limit the window can reach (fixed windows: the limit)
+     */
+    public int getMaxLimit() {
+        return getLimit();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Current in-flight count (lock-free read, may be momentarily stale)
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,170 @@
+package scenario1;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Machine-readable results of a BatchRunner sweep
+ * One row per measured run (warm-up runs are not recorded)
+ *
+ * Formats: CSV (one header line) or JSON (array of objects)
+ */
+public class SweepReport {
+
+    private static final String[] COLUMNS = {
+            "mode", "scheduling", "students", "poolSize", "maxInFlight", "adaptive", "finalLimit", "repetition",
+            "elapsedMs", "throughput", "successful", "failed", "timedOut", "notStarted", "duplicates", "successRate",
+            "onTime", "late", "shed", "allocBytesPerSubmission", "allocMBps",
+            "latencyMeanMs", "latencyP50Ms", "latencyP90Ms", "latencyP99Ms", "latencyP999Ms", "latencyMaxMs",
+            "queueWaitP99Ms", "serviceP99Ms",
+            "firstTrySuccess", "retrySuccess", "retries", "retriesDenied", "hedges", "hedgeWins", "extraLoadPct",
+            "payloadMB", "payloadDuplicates", "payloadMBps"
+    };
+
+    private final List<Row> rows = new ArrayList<>();
+
+    /**
+     * Add the result of one measured run
+     */
+    public void addRun(ExecutionMode mode, SchedulingPolicy scheduling, int students, int poolSize,
+                       int maxInFlight, boolean adaptive, int repetition, StatsSnapshot snapshot) {
+        rows.add(new Row(mode, scheduling, students, poolSize, maxInFlight, adaptive, repetition, snapshot));
+    }
+
+    public List<Row> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Write rows as CSV
+     */
+    public void writeCsv(PrintStream out) {
+        out.println(String.join(",", COLUMNS));
+        for (Row row : rows) {
+            out.println(String.join(",", row.values()));
+        }
+        out.flush();
+    }
+
+    /**
+     * Write rows as a JSON array (numbers unquoted, mode and scheduling quoted)
+     */
+    public void writeJson(PrintStream out) {
+        out.println("[");
+        for (int r = 0; r < rows.size(); r++) {
+            String[] values = rows.get(r).values();
+            StringBuilder json = new StringBuilder("  {");
+            for (int c = 0; c < COLUMNS.length; c++) {
+                if (c > 0) json.append(", ");
+                json.append('"').append(COLUMNS[c]).append("\": ");
+                if (c <= 1) {
+                    json.append('"').append(values[c]).append('"');
+                } else {
+                    json.append(values[c]);
+                }
+            }
+            json.append(r < rows.size() - 1 ? "}," : "}");
+            out.println(json);
+        }
+        out.println("]");
+        out.flush();
+    }
+
+    /**
+     * One measured configuration/repetition
+     */
+    public static class Row {
+        private final ExecutionMode mode;
+        private final SchedulingPolicy scheduling;
+        private final int students;
+        private final int poolSize;
+        private final int maxInFlight;
+        private final boolean adaptive;
+        private final int repetition;
+        private final StatsSnapshot snapshot;
+
+        Row(ExecutionMode mode, SchedulingPolicy scheduling, int students, int poolSize, int maxInFlight,
+            boolean adaptive, int repetition, StatsSnapshot snapshot) {
+            this.mode = mode;
+            this.scheduling = scheduling;
+            this.students = students;
+            this.poolSize = poolSize;
+            this.maxInFlight = maxInFlight;
+            this.adaptive = adaptive;
+            this.repetition = repetition;
+            this.snapshot = snapshot;
+        }
+
+        public ExecutionMode getMode() {
+            return mode;
+        }
+
+        public int getStudents() {
+            return students;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public StatsSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * Column values in COLUMNS order
+         * Locale.ROOT keeps '.' as decimal separator for CSV/JSON
+         */
+        String[] values() {
+            LatencyHistogram.Snapshot latency = snapshot.getLatency();
+            return new String[] {
+                    mode.name(),
+                    scheduling.name(),
+                    String.valueOf(students),
+                    String.valueOf(poolSize),
+                    String.valueOf(maxInFlight),
+                    String.valueOf(adaptive),
+                    String.valueOf(snapshot.getConcurrencyLimit()),
+                    String.valueOf(repetition),
+                    String.valueOf(snapshot.getElapsedMillis()),
+                    decimal(snapshot.getThroughput()),
+                    String.valueOf(snapshot.getSuccessfulSubmissions()),
+                    String.valueOf(snapshot.getFailedSubmissions()),
+                    String.valueOf(snapshot.getTimedOutSubmissions()),
+                    String.valueOf(snapshot.getNotStarted()),
+                    String.valueOf(snapshot.getDuplicates()),
+                    decimal(snapshot.getSuccessRate()),
+                    String.valueOf(snapshot.getOnTime()),
+                    String.valueOf(snapshot.getLate()),
+                    String.valueOf(snapshot.getShed()),
+                    decimal(snapshot.getAllocatedBytesPerSubmission()),
+                    decimal(snapshot.getAllocationMegabytesPerSecond()),
+                    decimal(latency.getMeanNanos() / 1_000_000.0),
+                    decimal(latency.getPercentileMillis(50.0)),
+                    decimal(latency.getPercentileMillis(90.0)),
+                    decimal(latency.getPercentileMillis(99.0)),
+                    decimal(latency.getPercentileMillis(99.9)),
+                    decimal(latency.getMaxNanos() / 1_000_000.0),
+                    decimal(snapshot.getQueueWait().getPercentileMillis(99.0)),
+                    decimal(snapshot.getServiceTime().getPercentileMillis(99.0)),
+                    String.valueOf(snapshot.getFirstTrySuccesses()),
+                    String.valueOf(snapshot.getRetrySuccesses()),
+                    String.valueOf(snapshot.getRetries()),
+                    String.valueOf(snapshot.getRetriesDenied()),
+                    String.valueOf(snapshot.getHedgesLaunched()),
+                    String.valueOf(snapshot.getHedgeWins()),
+                    decimal(snapshot.getExtraLoadPercent()),
+                    decimal(snapshot.getPayloadBytes() / 1_048_576.0),
+                    String.valueOf(snapshot.getPayloadDuplicates()),
+                    decimal(snapshot.getPayloadMegabytesPerSecond())
+            };
+        }
+
+        private static String decimal(double value) {
+            return String.format(Locale.ROOT, "%.3f", value);
+        }
+    }
+}
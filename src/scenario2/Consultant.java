@@ -1,10 +1,13 @@
 package scenario2;
 
+import logging.AsyncLogger;
+
 /**
  * Consumer thread representing a consultant treating patients
  * Each consultant takes patients from ONE specialty queue only
  */
 public class Consultant implements Runnable {
+    private static final AsyncLogger LOG = AsyncLogger.shared();
 
     private final String consultantName;
     private final Specialty specialty;
@@ -12,7 +15,7 @@ public class Consultant implements Runnable {
     private volatile boolean working;
     private int patientsSeenCount;
 
-    private static final int CONSULTATION_TIME_MS = 100; // Simulated treatment time
+    static final int CONSULTATION_TIME_MS = 100; // Simulated treatment time (shared with event mode)
 
     /**
      * Constructor
@@ -30,8 +33,7 @@ public class Consultant implements Runnable {
 
     @Override
     public void run() {
-        System.out.println(">>> " + consultantName + " (" + specialty.getDisplayName() +
-                ") started shift");
+        LOG.info(">>> %s (%s) started shift", consultantName, specialty.getDisplayName());
 
         try {
             while (working) {
@@ -43,31 +45,29 @@ public class Consultant implements Runnable {
                     treatPatient(patient);
                 } else {
                     // This should NEVER happen with separate queues
-                    System.err.println("ERROR: " + consultantName +
-                            " received wrong specialty patient!");
+                    LOG.error("ERROR: %s received wrong specialty patient!", consultantName);
                 }
             }
         } catch (InterruptedException e) {
             // Shift ended - interrupt received
-            System.out.println("<<< " + consultantName + " ending shift...");
+            LOG.info("<<< %s ending shift...", consultantName);
         }
 
-        System.out.println("<<< " + consultantName + " ended shift. Patients seen: " +
-                patientsSeenCount);
+        LOG.info("<<< %s ended shift. Patients seen: %d", consultantName, patientsSeenCount);
     }
 
     /**
      * Treat a patient (simulate consultation)
      */
     private void treatPatient(Patient patient) throws InterruptedException {
-        System.out.printf("    [%s] treating %s%n", consultantName, patient);
+        LOG.info("    [%s] treating %s", consultantName, patient);
 
         // Simulate consultation time
         Thread.sleep(CONSULTATION_TIME_MS);
 
         patientsSeenCount++;
 
-        System.out.printf("    [%s] completed treating Patient #%d ✓%n",
+        LOG.info("    [%s] completed treating Patient #%d ✓",
                 consultantName,
                 patient.getPatientId());
     }
@@ -0,0 +1,96 @@
+package scenario2;
+
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event engine: a virtual clock plus a priority queue of
+ * timestamped events
+ *
+ * WHY: the real-time mode sleeps through every arrival, consultation and
+ * shift, so simulated time passes at wall-clock speed. Here the clock
+ * jumps straight to the next event, so months run in seconds
+ *
+ * ORDERING: earliest time first; events due at the same time fire in the
+ * order they were scheduled, so runs are reproducible
+ *
+ * SINGLE-THREADED: one engine per simulation, no locks. Run independent
+ * replicas on separate threads, each with its own engine
+ */
+public class EventScheduler {
+
+    private final PriorityQueue<ScheduledEvent> events = new PriorityQueue<>();
+    private long now;
+    private long nextSequence;
+    private long eventsFired;
+
+    /**
+     * Schedule an action after a delay from the current virtual time
+     * @param delay Ticks from now (0 = after events already due now)
+     */
+    public void schedule(long delay, Runnable action) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay must not be negative: " + delay);
+        }
+        scheduleAt(now + delay, action);
+    }
+
+    /**
+     * Schedule an action at an absolute virtual time
+     */
+    public void scheduleAt(long time, Runnable action) {
+        if (time < now) {
+            throw new IllegalArgumentException("Cannot schedule in the past: " + time + " < " + now);
+        }
+        events.add(new ScheduledEvent(time, nextSequence++, action));
+    }
+
+    /**
+     * Fire events in time order until none are due at or before endTime
+     * The clock is left at endTime (or later, if already past it)
+     */
+    public void runUntil(long endTime) {
+        while (!events.isEmpty() && events.peek().time <= endTime) {
+            ScheduledEvent event = events.poll();
+            now = event.time;
+            eventsFired++;
+            event.action.run();
+        }
+        now = Math.max(now, endTime);
+    }
+
+    /**
+     * Current virtual time
+     */
+    public long now() {
+        return now;
+    }
+
+    public long getEventsFired() {
+        return eventsFired;
+    }
+
+    public int getPendingEvents() {
+        return events.size();
+    }
+
+    /**
+     * One queued event
+     */
+    private static final class ScheduledEvent implements Comparable<ScheduledEvent> {
+        private final long time;
+        private final long sequence;
+        private final Runnable action;
+
+        ScheduledEvent(long time, long sequence, Runnable action) {
+            this.time = time;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        @Override
+        public int compareTo(ScheduledEvent other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
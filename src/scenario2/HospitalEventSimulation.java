@@ -0,0 +1,437 @@
+package scenario2;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Event-mode hospital: the same arrivals, consultants and shifts as the
+ * real-time threads, driven by an EventScheduler instead of Thread.sleep
+ *
+ * TIME: one tick = one millisecond of the real-time mode, so both modes
+ * share their constants (1 simulated hour = 1,000 ticks, a 12-hour shift =
+ * ShiftManager.SHIFT_DURATION_MS ticks)
+ *
+ * EVENTS:
+ *   arrival     - patient joins its specialty queue (or an idle consultant),
+ *                 next arrival scheduled PatientArrival.nextArrivalIntervalMs later
+ *   treated     - consultant finishes, takes the next patient or goes idle
+ *   shift start - day/night roster from ShiftManager comes on duty
+ *   shift end   - outgoing consultants take no new patients; one already
+ *                 in treatment is finished (handover), not abandoned, and
+ *                 credited to the shift that started it
+ *
+ * Seeded and single-threaded: the same seed gives the same run
+ */
+public class HospitalEventSimulation {
+    public static final long TICKS_PER_HOUR = 1000;
+    private static final long SHIFT_TICKS = ShiftManager.SHIFT_DURATION_MS;
+
+    private final EventScheduler scheduler = new EventScheduler();
+    private final Random random;
+    /**
+     * Simulated clock starts at 08:00 on a fixed date, so a seed gives the
+     * same output whatever day it is run
+     */
+    private static final LocalDateTime START = LocalDate.of(2025, 1, 6).atTime(8, 0);
+
+    private final Map<Specialty, PatientQueue> queues = new EnumMap<>(Specialty.class);
+    private final Map<Specialty, List<SimConsultant>> onDuty = new EnumMap<>(Specialty.class);
+    private final Map<Specialty, WaitTimeStats> waits = new EnumMap<>(Specialty.class);
+    private final Map<Specialty, long[]> busyAndDutyTicks = new EnumMap<>(Specialty.class);
+    private final Map<Severity, WaitTimeStats> severityWaits = new EnumMap<>(Severity.class);
+    private final WaitTimeStats allWaits = new WaitTimeStats();
+    private long[] arrivalTicks = new long[1024];   // by patient id
+
+    private String[][] dayRoster = ShiftManager.getDayShiftConsultants();
+    private String[][] nightRoster = ShiftManager.getNightShiftConsultants();
+    private boolean verbose;
+    private double arrivalRate = 1.0;
+    private boolean triage;
+
+    private int nextPatientId = 1;
+    private int patientsArrived;
+    private int patientsTreated;
+    private int shiftsRun;
+    private SimShift currentShift;
+    private long endTick;
+    private long wallNanos;
+
+    /**
+     * Constructor
+     * @param seed Random seed for arrivals and specialties
+     */
+    public HospitalEventSimulation(long seed) {
+        this.random = new Random(seed);
+        for (Specialty specialty : Specialty.values()) {
+            queues.put(specialty, newQueue(specialty, false));
+            onDuty.put(specialty, new ArrayList<>());
+            waits.put(specialty, new WaitTimeStats());
+            busyAndDutyTicks.put(specialty, new long[2]);
+        }
+        for (Severity severity : Severity.values()) {
+            severityWaits.put(severity, new WaitTimeStats());
+        }
+    }
+
+    /**
+     * Simulate whole days (a day shift then a night shift each)
+     */
+    public void run(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Days must be positive: " + days);
+        }
+        long begin = System.nanoTime();
+        int shifts = days * 2;
+        endTick = shifts * SHIFT_TICKS;
+        scheduler.schedule(0, this::onArrival);
+        for (int shift = 0; shift < shifts; shift++) {
+            long shiftStart = shift * SHIFT_TICKS;
+            String[][] roster = shift % 2 == 0 ? dayRoster : nightRoster;
+            String name = shift % 2 == 0 ? "DAY SHIFT" : "NIGHT SHIFT";
+            // End of the previous shift was scheduled first, so it fires first
+            scheduler.scheduleAt(shiftStart, () -> startShift(name, roster));
+            scheduler.scheduleAt(shiftStart + SHIFT_TICKS, this::endShift);
+        }
+        // One consultation past the end lets the last shift finish its handover
+        scheduler.runUntil(endTick + Consultant.CONSULTATION_TIME_MS);
+        wallNanos = System.nanoTime() - begin;
+    }
+
+    /**
+     * Arrival event: route the patient, then schedule the next one
+     */
+    private void onArrival() {
+        long now = scheduler.now();
+        if (now > endTick) {
+            return;     // after the last shift: no more arrivals
+        }
+        int id = nextPatientId++;
+        Specialty specialty = Specialty.random(random);
+        Patient patient = new Patient(id, specialty, Severity.random(random), toDateTime(now));
+        if (id >= arrivalTicks.length) {
+            arrivalTicks = Arrays.copyOf(arrivalTicks, arrivalTicks.length * 2);
+        }
+        arrivalTicks[id] = now;
+        patientsArrived++;
+
+        SimConsultant idle = findIdle(specialty);
+        if (idle != null) {
+            startTreatment(idle, patient);
+        } else {
+            queues.get(specialty).offerPatient(patient);
+        }
+        long gap = Math.round(PatientArrival.nextArrivalIntervalMs(random) / arrivalRate);
+        scheduler.schedule(Math.max(1, gap), this::onArrival);
+    }
+
+    private SimConsultant findIdle(Specialty specialty) {
+        for (SimConsultant consultant : onDuty.get(specialty)) {
+            if (consultant.current == null) {
+                return consultant;
+            }
+        }
+        return null;
+    }
+
+    private void startTreatment(SimConsultant consultant, Patient patient) {
+        long wait = scheduler.now() - arrivalTicks[patient.getPatientId()];
+        waits.get(consultant.specialty).record(wait);
+        severityWaits.get(patient.getSeverity()).record(wait);
+        allWaits.record(wait);
+        consultant.current = patient;
+        scheduler.schedule(Consultant.CONSULTATION_TIME_MS, () -> onTreated(consultant));
+    }
+
+    /**
+     * Treated event: count the patient for the consultant's own shift, take
+     * the next one if still on shift
+     */
+    private void onTreated(SimConsultant consultant) {
+        consultant.current = null;
+        consultant.shift.treated++;
+        patientsTreated++;
+        busyAndDutyTicks.get(consultant.specialty)[0] += Consultant.CONSULTATION_TIME_MS;
+        if (consultant.onShift) {
+            Patient next = queues.get(consultant.specialty).pollPatient();
+            if (next != null) {
+                startTreatment(consultant, next);
+            }
+        } else if (--consultant.shift.handovers == 0) {
+            reportShift(consultant.shift);
+        }
+    }
+
+    /**
+     * Shift start event: roster comes on duty and clears the backlog it can
+     */
+    private void startShift(String shiftName, String[][] roster) {
+        currentShift = new SimShift(shiftName);
+        Specialty[] specialties = Specialty.values();
+        for (int i = 0; i < specialties.length; i++) {
+            Specialty specialty = specialties[i];
+            List<SimConsultant> consultants = onDuty.get(specialty);
+            consultants.clear();    // outgoing ones still treating keep their SimShift
+            for (int n = 0; n < roster[i].length; n++) {
+                SimConsultant consultant = new SimConsultant(specialty, currentShift);
+                consultants.add(consultant);
+                busyAndDutyTicks.get(specialty)[1] += SHIFT_TICKS;
+                Patient next = queues.get(specialty).pollPatient();
+                if (next != null) {
+                    startTreatment(consultant, next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Shift end event: outgoing consultants stop taking patients; the shift
+     * is reported once its last handover patient is treated
+     */
+    private void endShift() {
+        shiftsRun++;
+        SimShift shift = currentShift;
+        for (List<SimConsultant> consultants : onDuty.values()) {
+            for (SimConsultant consultant : consultants) {
+                consultant.onShift = false;
+                if (consultant.current != null) {
+                    shift.handovers++;
+                }
+            }
+        }
+        shift.date = toDateTime(scheduler.now()).toLocalDate();
+        shift.waiting = verbose ? queueSizes() : null;
+        if (shift.handovers == 0) {
+            reportShift(shift);
+        }
+    }
+
+    private void reportShift(SimShift shift) {
+        if (verbose) {
+            System.out.printf("[%s] %-11s treated %,4d | waiting: %s%n",
+                    shift.date, shift.name, shift.treated, shift.waiting);
+        }
+    }
+
+    private String queueSizes() {
+        StringBuilder sizes = new StringBuilder();
+        for (Map.Entry<Specialty, PatientQueue> entry : queues.entrySet()) {
+            if (sizes.length() > 0) sizes.append(", ");
+            sizes.append(entry.getKey().getDisplayName()).append(' ').append(entry.getValue().getSize());
+        }
+        return sizes.toString();
+    }
+
+    /**
+     * Simulated wall-clock time of a tick (for patient timestamps)
+     */
+    private LocalDateTime toDateTime(long ticks) {
+        return START.plusNanos(ticks * (3_600_000_000_000L / TICKS_PER_HOUR));
+    }
+
+    /**
+     * Print totals, waiting times and utilisation per specialty
+     */
+    public void printResults() {
+        double hours = (double) endTick / TICKS_PER_HOUR;
+        double wallSeconds = wallNanos / 1_000_000_000.0;
+        System.out.println("\n" + "=".repeat(60));
+        System.out.println("  EVENT-MODE SIMULATION RESULTS");
+        System.out.println("=".repeat(60));
+        System.out.printf("Simulated time      : %,.0f hours (%,d shifts)%n", hours, shiftsRun);
+        System.out.printf("Wall-clock time     : %,.3f s (%,.0f simulated hours/s)%n",
+                wallSeconds, wallSeconds > 0 ? hours / wallSeconds : 0.0);
+        System.out.printf("Events fired        : %,d%n", scheduler.getEventsFired());
+        System.out.printf("Patients arrived    : %,d%n", patientsArrived);
+        System.out.printf("Patients treated    : %,d%n", patientsTreated);
+        System.out.printf("Patients waiting    : %,d%n", getPatientsWaiting());
+        System.out.println("-".repeat(60));
+        System.out.println("Wait (minutes)         seen   mean    p50    p90    p99    max  util");
+        for (Specialty specialty : Specialty.values()) {
+            printWaitRow(specialty.getDisplayName(), waits.get(specialty), getUtilisation(specialty));
+        }
+        printWaitRow("All", allWaits, Double.NaN);
+        printSeverityTable(severityWaits, triage ? "triage" : "FIFO");
+        System.out.println("=".repeat(60));
+    }
+
+    private static void printWaitRow(String label, WaitTimeStats stats, double utilisation) {
+        System.out.printf("%-16s%,11d%7.1f%7.1f%7.1f%7.1f%7.1f%s%n", label, stats.getCount(),
+                toMinutes(stats.getMean()), toMinutes(stats.getPercentile(50.0)),
+                toMinutes(stats.getPercentile(90.0)), toMinutes(stats.getPercentile(99.0)),
+                toMinutes(stats.getMax()),
+                Double.isNaN(utilisation) ? "" : String.format("%5.0f%%", utilisation * 100));
+    }
+
+    /**
+     * Waits by triage severity and the share over each severity's maximum
+     * (shared with the real-time report)
+     */
+    static void printSeverityTable(Map<Severity, WaitTimeStats> bySeverity, String order) {
+        System.out.println("-".repeat(60));
+        System.out.printf("Wait by severity (%s, min)  seen   mean    p90    max  over max%n", order);
+        for (Map.Entry<Severity, WaitTimeStats> entry : bySeverity.entrySet()) {
+            Severity severity = entry.getKey();
+            WaitTimeStats stats = entry.getValue();
+            System.out.printf("%-12s (max %3d)%,10d%7.1f%7.1f%7.1f%9.1f%%%n",
+                    severity.getDisplayName(), severity.getMaxWaitMinutes(), stats.getCount(),
+                    toMinutes(stats.getMean()), toMinutes(stats.getPercentile(90.0)), toMinutes(stats.getMax()),
+                    stats.getCount() == 0 ? 0.0
+                            : 100.0 * stats.countAbove(severity.getMaxWaitTicks()) / stats.getCount());
+        }
+    }
+
+    /**
+     * Convert ticks to simulated minutes
+     */
+    public static double toMinutes(double ticks) {
+        return ticks * 60.0 / TICKS_PER_HOUR;
+    }
+
+    /**
+     * Setters
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Scale the arrival rate (2.0 = patients arrive twice as often)
+     */
+    public void setArrivalRate(double arrivalRate) {
+        if (!(arrivalRate > 0)) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + arrivalRate);
+        }
+        this.arrivalRate = arrivalRate;
+    }
+
+    /**
+     * Order waiting patients by triage severity with ageing instead of
+     * arrival order (call before run)
+     */
+    public void setTriage(boolean triage) {
+        this.triage = triage;
+        for (Specialty specialty : Specialty.values()) {
+            queues.put(specialty, newQueue(specialty, triage));
+        }
+    }
+
+    /**
+     * Queue on the virtual clock; waits are recorded here in startTreatment,
+     * so the queue does not keep a second copy of every wait
+     */
+    private PatientQueue newQueue(Specialty specialty, boolean triage) {
+        PatientQueue queue = new PatientQueue(specialty, triage, scheduler::now);
+        queue.setRecordWaits(false);
+        return queue;
+    }
+
+    /**
+     * Roster with the same number of consultants for every specialty
+     * (names generated, e.g. "Dr. Surgeon 2")
+     */
+    public static String[][] uniformRoster(int consultantsPerSpecialty) {
+        Specialty[] specialties = Specialty.values();
+        String[][] roster = new String[specialties.length][consultantsPerSpecialty];
+        for (int i = 0; i < specialties.length; i++) {
+            for (int n = 0; n < consultantsPerSpecialty; n++) {
+                roster[i][n] = "Dr. " + specialties[i].getDisplayName() + " " + (n + 1);
+            }
+        }
+        return roster;
+    }
+
+    /**
+     * Replace the consultant rosters (one row of names per specialty, in
+     * Specialty order; rows may hold several consultants)
+     */
+    public void setRosters(String[][] dayRoster, String[][] nightRoster) {
+        if (dayRoster.length != Specialty.values().length || nightRoster.length != Specialty.values().length) {
+            throw new IllegalArgumentException("Rosters need one row per specialty");
+        }
+        this.dayRoster = dayRoster;
+        this.nightRoster = nightRoster;
+    }
+
+    /**
+     * Getters
+     */
+    public int getPatientsArrived() {
+        return patientsArrived;
+    }
+
+    public int getPatientsTreated() {
+        return patientsTreated;
+    }
+
+    public int getPatientsWaiting() {
+        int waiting = 0;
+        for (PatientQueue queue : queues.values()) {
+            waiting += queue.getSize();
+        }
+        return waiting;
+    }
+
+    public int getQueueSize(Specialty specialty) {
+        return queues.get(specialty).getSize();
+    }
+
+    public WaitTimeStats getWaitTimes() {
+        return allWaits;
+    }
+
+    public WaitTimeStats getWaitTimes(Specialty specialty) {
+        return waits.get(specialty);
+    }
+
+    public WaitTimeStats getWaitTimes(Severity severity) {
+        return severityWaits.get(severity);
+    }
+
+    /**
+     * Share of rostered consultant time spent treating (0-1)
+     */
+    public double getUtilisation(Specialty specialty) {
+        long[] ticks = busyAndDutyTicks.get(specialty);
+        return ticks[1] == 0 ? 0.0 : (double) ticks[0] / ticks[1];
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Consultant state in event mode (no thread of its own)
+     */
+    private static final class SimConsultant {
+        private final Specialty specialty;
+        private final SimShift shift;
+        private boolean onShift = true;
+        private Patient current;
+
+        SimConsultant(Specialty specialty, SimShift shift) {
+            this.specialty = specialty;
+            this.shift = shift;
+        }
+    }
+
+    /**
+     * One shift's tally; outlives the shift until its handovers are treated
+     */
+    private static final class SimShift {
+        private final String name;
+        private int treated;
+        private int handovers;      // outgoing consultants still treating
+        private LocalDate date;     // when the shift ended
+        private String waiting;     // queue sizes when the shift ended
+
+        SimShift(String name) {
+            this.name = name;
+        }
+    }
+}
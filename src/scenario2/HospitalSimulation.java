@@ -1,15 +1,69 @@
 package scenario2;
 
+import logging.AsyncLogger;
+
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Main simulation controller for hospital patient management
  * Coordinates producer (PatientArrival) and consumers (Consultants via ShiftManager)
+ *
+ * MODES:
+ *   (default)                  real time, threads and Thread.sleep, 2 shifts
+ *   --mode=event [--days=N]    discrete-event run on a virtual clock
+ *                [--seed=N] [--verbose]  (see HospitalEventSimulation)
+ *   --triage                   either mode: queues ordered by Severity with ageing
+ *   --queue=BACKEND            real time: LINKED, ARRAY, RING_BUFFER or TRIAGE
+ *                              (see QueueBackend; --triage = --queue=TRIAGE)
  */
 public class HospitalSimulation {
 
     public static void main(String[] args) {
+        String mode = "realtime";
+        int days = 1;
+        long seed = 42;
+        boolean verbose = false;
+        QueueBackend backend = QueueBackend.LINKED;
+        for (String arg : args) {
+            if (arg.startsWith("--mode=")) {
+                mode = arg.substring("--mode=".length()).trim().toLowerCase();
+            } else if (arg.startsWith("--days=")) {
+                days = Integer.parseInt(arg.substring("--days=".length()).trim());
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()).trim());
+            } else if (arg.equals("--verbose")) {
+                verbose = true;
+            } else if (arg.equals("--triage")) {
+                backend = QueueBackend.TRIAGE;
+            } else if (arg.startsWith("--queue=")) {
+                try {
+                    backend = QueueBackend.valueOf(arg.substring("--queue=".length()).trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Queue must be LINKED, ARRAY, RING_BUFFER or TRIAGE: " + arg);
+                    return;
+                }
+            } else {
+                System.err.println("Unknown option: " + arg);
+                System.err.println("Usage: HospitalSimulation [--mode=realtime|event] [--days=N] [--seed=N] [--verbose] [--triage] [--queue=BACKEND]");
+                return;
+            }
+        }
+        boolean triage = backend == QueueBackend.TRIAGE;
+        if (mode.equals("event")) {
+            // Event mode cannot wait for space, so only the unbounded backends apply
+            if (backend.isBounded()) {
+                System.err.println("Event mode supports --queue=LINKED or TRIAGE only");
+                return;
+            }
+            runEventMode(days, seed, verbose, triage);
+            return;
+        } else if (!mode.equals("realtime")) {
+            System.err.println("Mode must be realtime or event: " + mode);
+            return;
+        }
+
         System.out.println("\n╔════════════════════════════════════════════════════════╗");
         System.out.println("║   ROYAL MANCHESTER HOSPITAL - PATIENT MANAGEMENT       ║");
         System.out.println("║   Producer-Consumer Concurrent System                  ║");
@@ -21,10 +75,10 @@ public class HospitalSimulation {
         // Create three separate queues (one per specialty)
         Map<Specialty, PatientQueue> queues = new HashMap<>();
         for (Specialty specialty : Specialty.values()) {
-            queues.put(specialty, new PatientQueue(specialty));
+            queues.put(specialty, new PatientQueue(specialty, backend));
         }
 
-        System.out.println("✓ Created 3 specialty-specific patient queues");
+        System.out.println("✓ Created 3 specialty-specific patient queues (" + backend.getDisplayName() + ")");
         System.out.println("  - " + Specialty.PAEDIATRICIAN.getDisplayName() + " queue");
         System.out.println("  - " + Specialty.SURGEON.getDisplayName() + " queue");
         System.out.println("  - " + Specialty.CARDIOLOGIST.getDisplayName() + " queue\n");
@@ -55,6 +109,8 @@ public class HospitalSimulation {
         }
 
         // Final statistics
+        AsyncLogger log = AsyncLogger.shared();
+        log.flush();
         System.out.println("\n✓ All systems stopped");
         System.out.println("\nFinal Queue Status:");
         int totalWaiting = 0;
@@ -67,8 +123,35 @@ public class HospitalSimulation {
         }
         System.out.println("  Total: " + totalWaiting + " patients waiting");
 
+        // Waits of treated patients by severity, all specialties
+        Map<Severity, WaitTimeStats> bySeverity = new EnumMap<>(Severity.class);
+        for (Severity severity : Severity.values()) {
+            WaitTimeStats merged = new WaitTimeStats();
+            for (PatientQueue queue : queues.values()) {
+                merged.addAll(queue.getWaitTimes(severity));
+            }
+            bySeverity.put(severity, merged);
+        }
+        HospitalEventSimulation.printSeverityTable(bySeverity, triage ? "triage" : "FIFO");
+        if (log.getDroppedCount() > 0) {
+            System.out.printf("  (%,d log events dropped, log buffer full)%n", log.getDroppedCount());
+        }
+
         System.out.println("\n╔════════════════════════════════════════════════════════╗");
         System.out.println("║   Hospital System Simulation Complete                  ║");
         System.out.println("╚════════════════════════════════════════════════════════╝\n");
     }
+
+    /**
+     * Same hospital on a virtual clock: runs as fast as the CPU allows
+     */
+    private static void runEventMode(int days, long seed, boolean verbose, boolean triage) {
+        System.out.printf("Event mode: %,d days (%,d shifts), seed %d%s%n", days, days * 2, seed,
+                triage ? ", triage order" : "");
+        HospitalEventSimulation simulation = new HospitalEventSimulation(seed);
+        simulation.setVerbose(verbose);
+        simulation.setTriage(triage);
+        simulation.run(days);
+        simulation.printResults();
+    }
 }
\ No newline at end of file
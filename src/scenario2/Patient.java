@@ -11,13 +11,29 @@ public class Patient {
 
     private final int patientId;
     private final Specialty requiredSpecialty;
+    private final Severity severity;
     private final LocalDateTime arrivalTime;
+    // Set by PatientQueue before the patient is published to consumers
+    private long enqueuedTick;
+    private long queueSequence;
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
     public Patient(int patientId, Specialty requiredSpecialty) {
+        this(patientId, requiredSpecialty, Severity.STANDARD);
+    }
+
+    public Patient(int patientId, Specialty requiredSpecialty, Severity severity) {
+        this(patientId, requiredSpecialty, severity, LocalDateTime.now());
+    }
+
+    /**
+     * Constructor with an explicit arrival time (event mode: virtual clock)
+     */
+    public Patient(int patientId, Specialty requiredSpecialty, Severity severity, LocalDateTime arrivalTime) {
         this.patientId = patientId;
         this.requiredSpecialty = requiredSpecialty;
-        this.arrivalTime = LocalDateTime.now();
+        this.severity = severity;
+        this.arrivalTime = arrivalTime;
     }
 
     public int getPatientId() {
@@ -28,19 +44,37 @@ public class Patient {
         return requiredSpecialty;
     }
 
+    public Severity getSeverity() {
+        return severity;
+    }
+
     public LocalDateTime getArrivalTime() {
         return arrivalTime;
     }
 
+    long getEnqueuedTick() {
+        return enqueuedTick;
+    }
+
+    long getQueueSequence() {
+        return queueSequence;
+    }
+
+    void markEnqueued(long tick, long sequence) {
+        this.enqueuedTick = tick;
+        this.queueSequence = sequence;
+    }
+
     public String getFormattedArrivalTime() {
         return arrivalTime.format(TIME_FORMATTER);
     }
 
     @Override
     public String toString() {
-        return String.format("Patient #%d (%s) arrived at %s",
+        return String.format("Patient #%d (%s, %s) arrived at %s",
                 patientId,
                 requiredSpecialty.getDisplayName(),
+                severity.getDisplayName(),
                 getFormattedArrivalTime());
     }
 }
\ No newline at end of file
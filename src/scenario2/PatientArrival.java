@@ -1,5 +1,7 @@
 package scenario2;
 
+import logging.AsyncLogger;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
@@ -9,15 +11,16 @@ import java.util.Random;
  * Runs 24/7 creating patients at random intervals
  */
 public class PatientArrival implements Runnable {
+    private static final AsyncLogger LOG = AsyncLogger.shared();
 
     private final Map<Specialty, PatientQueue> queues;
     private volatile boolean running;
     private int patientIdCounter;
     private final Random random;
 
-    // Configuration
-    private static final int MIN_ARRIVAL_INTERVAL_MS = 300;
-    private static final int MAX_ARRIVAL_INTERVAL_MS = 700;
+    // Configuration (shared with event mode)
+    static final int MIN_ARRIVAL_INTERVAL_MS = 300;
+    static final int MAX_ARRIVAL_INTERVAL_MS = 700;
 
     /**
      * Constructor
@@ -32,33 +35,38 @@ public class PatientArrival implements Runnable {
 
     @Override
     public void run() {
-        System.out.println("🚑 Patient arrival system started\n");
+        LOG.info("🚑 Patient arrival system started\n");
 
         try {
             while (running) {
                 // Generate random patient
                 Specialty specialty = Specialty.random();
-                Patient patient = new Patient(patientIdCounter++, specialty);
+                Patient patient = new Patient(patientIdCounter++, specialty, Severity.random(random));
 
                 // Add to appropriate queue
                 PatientQueue queue = queues.get(specialty);
                 queue.addPatient(patient);
 
-                System.out.printf("🚑 NEW: %s | Queue size: %d%n",
+                LOG.info("🚑 NEW: %s | Queue size: %d",
                         patient,
                         queue.getSize());
 
                 // Random interval before next patient
-                int interval = MIN_ARRIVAL_INTERVAL_MS +
-                        random.nextInt(MAX_ARRIVAL_INTERVAL_MS - MIN_ARRIVAL_INTERVAL_MS);
-                Thread.sleep(interval);
+                Thread.sleep(nextArrivalIntervalMs(random));
             }
         } catch (InterruptedException e) {
-            System.out.println("🚑 Patient arrival system stopped");
+            LOG.info("🚑 Patient arrival system stopped");
             Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * Gap before the next patient (real-time ms, or event-mode ticks)
+     */
+    static int nextArrivalIntervalMs(Random random) {
+        return MIN_ARRIVAL_INTERVAL_MS + random.nextInt(MAX_ARRIVAL_INTERVAL_MS - MIN_ARRIVAL_INTERVAL_MS);
+    }
+
     /**
      * Stop the patient arrival system
      */
@@ -0,0 +1,93 @@
+package scenario2;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage behind a PatientQueue (see QueueBackend)
+ * Implementations are safe for many producers and many consumers
+ */
+interface PatientBuffer {
+
+    /**
+     * Add, waiting while a bounded buffer is full
+     */
+    void put(Patient patient) throws InterruptedException;
+
+    /**
+     * Add without waiting
+     * @return false if the buffer is full
+     */
+    boolean offer(Patient patient);
+
+    /**
+     * Add, waiting at most the timeout while a bounded buffer is full
+     * @return false if still full when the timeout elapsed
+     */
+    boolean offer(Patient patient, long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Remove the next patient, waiting while empty
+     */
+    Patient take() throws InterruptedException;
+
+    /**
+     * Remove the next patient without waiting
+     * @return null if empty
+     */
+    Patient poll();
+
+    /**
+     * Remove the next patient, waiting at most the timeout while empty
+     * @return null if still empty when the timeout elapsed
+     */
+    Patient poll(long timeout, TimeUnit unit) throws InterruptedException;
+
+    int size();
+
+    /**
+     * Adapter for the java.util.concurrent queues (LINKED, ARRAY, TRIAGE)
+     */
+    final class Blocking implements PatientBuffer {
+        private final BlockingQueue<Patient> queue;
+
+        Blocking(BlockingQueue<Patient> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void put(Patient patient) throws InterruptedException {
+            queue.put(patient);
+        }
+
+        @Override
+        public boolean offer(Patient patient) {
+            return queue.offer(patient);
+        }
+
+        @Override
+        public boolean offer(Patient patient, long timeout, TimeUnit unit) throws InterruptedException {
+            return queue.offer(patient, timeout, unit);
+        }
+
+        @Override
+        public Patient take() throws InterruptedException {
+            return queue.take();
+        }
+
+        @Override
+        public Patient poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public Patient poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return queue.poll(timeout, unit);
+        }
+
+        @Override
+        public int size() {
+            return queue.size();
+        }
+    }
+}
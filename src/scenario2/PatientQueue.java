@@ -1,36 +1,138 @@
 package scenario2;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * Thread-safe queue for patients of one specialty
  * Shared resource between producer (PatientArrival) and consumers (Consultants)
  *
+ * BACKEND: selectable storage (see QueueBackend) behind the same
+ * addPatient/takePatient/getSize API - LINKED (default), ARRAY,
+ * RING_BUFFER (lock-free MPMC) or TRIAGE
+ *
+ * TRIAGE ORDER: most overdue first, key = arrival + Severity max wait
+ * (PriorityBlockingQueue, O(log n) add/take). The key is fixed at arrival,
+ * so a waiting non-urgent patient's key is eventually earlier than that of
+ * any new arrival, however severe; nobody waits much longer than their
+ * severity's maximum plus the backlog ahead of them
+ *
+ * Waits (arrival -> taken by a consultant) are recorded per severity
+ *
  * NOTE: This is NOT a generic class - it specifically holds Patient objects
  */
 public class PatientQueue {
 
-    private final BlockingQueue<Patient> queue;
+    /**
+     * Real-time clock in ticks (1 tick = 1 ms; 1,000 ticks = 1 simulated hour)
+     */
+    static final LongSupplier REAL_TIME_CLOCK = () -> System.nanoTime() / 1_000_000;
+
+    /**
+     * Triage key, then arrival order among equal keys
+     */
+    static final Comparator<Patient> TRIAGE_ORDER = Comparator
+            .comparingLong((Patient p) -> p.getEnqueuedTick() + p.getSeverity().getMaxWaitTicks())
+            .thenComparingLong(Patient::getQueueSequence);
+
+    private final PatientBuffer buffer;
+    private final QueueBackend backend;
     private final Specialty specialty;
+    private final LongSupplier clock;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Severity, WaitTimeStats> waits = new EnumMap<>(Severity.class);
+    private volatile boolean recordWaits = true;
 
     /**
      * Constructor
      * @param specialty The medical specialty this queue serves
      */
     public PatientQueue(Specialty specialty) {
-        this.queue = new LinkedBlockingQueue<>();
+        this(specialty, QueueBackend.LINKED);
+    }
+
+    /**
+     * Constructor
+     * @param specialty The medical specialty this queue serves
+     * @param triage true = severity order with ageing, false = FIFO
+     */
+    public PatientQueue(Specialty specialty, boolean triage) {
+        this(specialty, triage ? QueueBackend.TRIAGE : QueueBackend.LINKED);
+    }
+
+    /**
+     * Constructor with an explicit clock (event mode: the virtual clock)
+     */
+    public PatientQueue(Specialty specialty, boolean triage, LongSupplier clock) {
+        this(specialty, triage ? QueueBackend.TRIAGE : QueueBackend.LINKED,
+                QueueBackend.DEFAULT_CAPACITY, clock);
+    }
+
+    /**
+     * Constructor
+     * @param specialty The medical specialty this queue serves
+     * @param backend Storage (bounded ones get QueueBackend.DEFAULT_CAPACITY)
+     */
+    public PatientQueue(Specialty specialty, QueueBackend backend) {
+        this(specialty, backend, QueueBackend.DEFAULT_CAPACITY, REAL_TIME_CLOCK);
+    }
+
+    /**
+     * Constructor
+     * @param capacity Slots for bounded backends (ARRAY, RING_BUFFER)
+     * @param clock Tick source for waits and triage keys
+     */
+    public PatientQueue(Specialty specialty, QueueBackend backend, int capacity, LongSupplier clock) {
+        this.buffer = backend.createBuffer(capacity, TRIAGE_ORDER);
+        this.backend = backend;
         this.specialty = specialty;
+        this.clock = clock;
+        for (Severity severity : Severity.values()) {
+            waits.put(severity, new WaitTimeStats());
+        }
     }
 
     /**
      * Add patient to queue (called by producer)
-     * Thread-safe operation
+     * Thread-safe operation; waits while a bounded backend is full
      * @param patient The patient to add
      * @throws InterruptedException if interrupted while waiting
      */
     public void addPatient(Patient patient) throws InterruptedException {
-        queue.put(patient);
+        stamp(patient);
+        buffer.put(patient);
+    }
+
+    /**
+     * Add patient without blocking (event mode)
+     * @return false if a bounded backend is full
+     */
+    public boolean offerPatient(Patient patient) {
+        stamp(patient);
+        return buffer.offer(patient);
+    }
+
+    /**
+     * Add patient, waiting at most the timeout while a bounded backend is full
+     * @return false if still full when the timeout elapsed
+     */
+    public boolean offerPatient(Patient patient, long timeout, TimeUnit unit) throws InterruptedException {
+        stamp(patient);
+        return buffer.offer(patient, timeout, unit);
+    }
+
+    /**
+     * Enqueue time (and order, for TRIAGE), written before the patient is
+     * published so consumers see it
+     */
+    private void stamp(Patient patient) {
+        boolean triage = backend == QueueBackend.TRIAGE;
+        long tick = recordWaits || triage ? clock.getAsLong() : 0;
+        patient.markEnqueued(tick, triage ? sequence.getAndIncrement() : 0);
     }
 
     /**
@@ -40,7 +142,36 @@ public class PatientQueue {
      * @throws InterruptedException if interrupted while waiting
      */
     public Patient takePatient() throws InterruptedException {
-        return queue.take();
+        return taken(buffer.take());
+    }
+
+    /**
+     * Take the next patient without blocking (event mode)
+     * @return The next patient, or null if none is waiting
+     */
+    public Patient pollPatient() {
+        Patient patient = buffer.poll();
+        return patient != null ? taken(patient) : null;
+    }
+
+    /**
+     * Take the next patient, waiting at most the timeout
+     * (a consumer that must notice shift end without being interrupted)
+     * @return The next patient, or null if none arrived in time
+     */
+    public Patient pollPatient(long timeout, TimeUnit unit) throws InterruptedException {
+        Patient patient = buffer.poll(timeout, unit);
+        return patient != null ? taken(patient) : null;
+    }
+
+    private Patient taken(Patient patient) {
+        if (recordWaits) {
+            WaitTimeStats stats = waits.get(patient.getSeverity());
+            synchronized (stats) {
+                stats.record(clock.getAsLong() - patient.getEnqueuedTick());
+            }
+        }
+        return patient;
     }
 
     /**
@@ -48,7 +179,7 @@ public class PatientQueue {
      * @return Number of patients waiting in this queue
      */
     public int getSize() {
-        return queue.size();
+        return buffer.size();
     }
 
     /**
@@ -58,4 +189,32 @@ public class PatientQueue {
     public Specialty getSpecialty() {
         return specialty;
     }
-}
\ No newline at end of file
+
+    public QueueBackend getBackend() {
+        return backend;
+    }
+
+    public boolean isTriage() {
+        return backend == QueueBackend.TRIAGE;
+    }
+
+    /**
+     * Record waits per severity (default on); off measures the handoff
+     * alone and keeps memory flat over millions of patients
+     */
+    public void setRecordWaits(boolean recordWaits) {
+        this.recordWaits = recordWaits;
+    }
+
+    /**
+     * Waits of patients taken so far, in ticks (copy, safe while running)
+     */
+    public WaitTimeStats getWaitTimes(Severity severity) {
+        WaitTimeStats stats = waits.get(severity);
+        WaitTimeStats copy = new WaitTimeStats();
+        synchronized (stats) {
+            copy.addAll(stats);
+        }
+        return copy;
+    }
+}
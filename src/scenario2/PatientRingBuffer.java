@@ -0,0 +1,224 @@
+package scenario2;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Preallocated lock-free multi-producer/multi-consumer ring buffer
+ * (bounded MPMC queue with a sequence number per slot)
+ *
+ * HANDOFF: producers claim a slot with one CAS on tail, consumers with one
+ * CAS on head; the slot's sequence number says whether it is free
+ * (seq == pos), full (seq == pos + 1) or still in use by the previous lap.
+ * No lock and no node allocation on the fast path
+ *
+ * WAITING: a blocked take()/put() first spins (Thread.onSpinWait) for a
+ * short while, then parks on a condition. Producers/consumers only touch
+ * the lock when someone is actually parked (counter checked after
+ * publishing), so a busy buffer never locks
+ */
+final class PatientRingBuffer implements PatientBuffer {
+    // Spinning only helps when another core can make progress meanwhile
+    private static final int SPIN_TRIES = Runtime.getRuntime().availableProcessors() > 1 ? 128 : 0;
+
+    private final Patient[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();    // next position to take
+    private final AtomicLong tail = new AtomicLong();    // next position to fill
+
+    private final ReentrantLock parkLock = new ReentrantLock();
+    private final Condition notEmpty = parkLock.newCondition();
+    private final Condition notFull = parkLock.newCondition();
+    private final AtomicInteger parkedConsumers = new AtomicInteger();
+    private final AtomicInteger parkedProducers = new AtomicInteger();
+
+    /**
+     * Constructor
+     * @param capacity Slots (rounded up to a power of two)
+     */
+    PatientRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.slots = new Patient[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean offer(Patient patient) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = patient;
+                    sequences.set(index, pos + 1);      // publish (volatile write)
+                    if (parkedConsumers.get() > 0) {
+                        signal(notEmpty);
+                    }
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;                           // full: slot not yet freed
+            } else {
+                pos = tail.get();                       // another producer took it
+            }
+        }
+    }
+
+    @Override
+    public Patient poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Patient patient = slots[index];
+                    slots[index] = null;
+                    sequences.set(index, pos + mask + 1);   // free for the next lap
+                    if (parkedProducers.get() > 0) {
+                        signal(notFull);
+                    }
+                    return patient;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;                            // empty: slot not yet filled
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    @Override
+    public void put(Patient patient) throws InterruptedException {
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            if (offer(patient)) {
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        parkLock.lockInterruptibly();
+        parkedProducers.incrementAndGet();
+        try {
+            // Re-check after announcing: a consumer that freed a slot before
+            // seeing the counter is caught here
+            while (!offer(patient)) {
+                notFull.await();
+            }
+        } finally {
+            parkedProducers.decrementAndGet();
+            parkLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(Patient patient, long timeout, TimeUnit unit) throws InterruptedException {
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            if (offer(patient)) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        long remaining = unit.toNanos(timeout);
+        parkLock.lockInterruptibly();
+        parkedProducers.incrementAndGet();
+        try {
+            while (!offer(patient)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            parkedProducers.decrementAndGet();
+            parkLock.unlock();
+        }
+    }
+
+    @Override
+    public Patient poll(long timeout, TimeUnit unit) throws InterruptedException {
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            Patient patient = poll();
+            if (patient != null) {
+                return patient;
+            }
+            Thread.onSpinWait();
+        }
+        long remaining = unit.toNanos(timeout);
+        parkLock.lockInterruptibly();
+        parkedConsumers.incrementAndGet();
+        try {
+            Patient patient;
+            while ((patient = poll()) == null) {
+                if (remaining <= 0) {
+                    return null;
+                }
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            return patient;
+        } finally {
+            parkedConsumers.decrementAndGet();
+            parkLock.unlock();
+        }
+    }
+
+    @Override
+    public Patient take() throws InterruptedException {
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            Patient patient = poll();
+            if (patient != null) {
+                return patient;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            Thread.onSpinWait();
+        }
+        parkLock.lockInterruptibly();
+        parkedConsumers.incrementAndGet();
+        try {
+            Patient patient;
+            while ((patient = poll()) == null) {
+                notEmpty.await();
+            }
+            return patient;
+        } finally {
+            parkedConsumers.decrementAndGet();
+            parkLock.unlock();
+        }
+    }
+
+    private void signal(Condition condition) {
+        parkLock.lock();
+        try {
+            condition.signal();
+        } finally {
+            parkLock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, slots.length));
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,61 @@
+package scenario2;
+
+import java.util.Comparator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+
+/**
+ * Storage behind PatientQueue
+ *
+ * LINKED      - LinkedBlockingQueue: unbounded, a node per patient, two locks
+ * ARRAY       - ArrayBlockingQueue: bounded, preallocated, one lock
+ * RING_BUFFER - PatientRingBuffer: bounded, preallocated, lock-free MPMC,
+ *               spin then park when empty/full
+ * TRIAGE      - PriorityBlockingQueue in triage order (see PatientQueue)
+ *
+ * Bounded backends make producers wait when full; the hospital never
+ * turns a patient away, so size them above the expected backlog
+ */
+public enum QueueBackend {
+    LINKED("LinkedBlockingQueue", false),
+    ARRAY("ArrayBlockingQueue", true),
+    RING_BUFFER("Lock-free MPMC ring buffer", true),
+    TRIAGE("Triage priority queue", false);
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final String displayName;
+    private final boolean bounded;
+
+    QueueBackend(String displayName, boolean bounded) {
+        this.displayName = displayName;
+        this.bounded = bounded;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Create the storage
+     * @param capacity Slots for bounded backends (ignored otherwise)
+     * @param triageOrder Ordering for TRIAGE
+     */
+    PatientBuffer createBuffer(int capacity, Comparator<Patient> triageOrder) {
+        switch (this) {
+            case ARRAY:
+                return new PatientBuffer.Blocking(new ArrayBlockingQueue<>(capacity));
+            case RING_BUFFER:
+                return new PatientRingBuffer(capacity);
+            case TRIAGE:
+                return new PatientBuffer.Blocking(new PriorityBlockingQueue<>(16, triageOrder));
+            default:
+                return new PatientBuffer.Blocking(new LinkedBlockingQueue<>());
+        }
+    }
+}
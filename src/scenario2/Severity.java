@@ -0,0 +1,54 @@
+package scenario2;
+
+import java.util.Random;
+
+/**
+ * Triage severity (Manchester Triage System categories)
+ * Each level has a maximum recommended wait before treatment starts
+ */
+public enum Severity {
+    IMMEDIATE("Immediate", 0, 2),
+    VERY_URGENT("Very urgent", 10, 10),
+    URGENT("Urgent", 60, 30),
+    STANDARD("Standard", 120, 40),
+    NON_URGENT("Non-urgent", 240, 18);
+
+    private final String displayName;
+    private final int maxWaitMinutes;
+    private final int weightPercent;     // share of arriving patients
+
+    Severity(String displayName, int maxWaitMinutes, int weightPercent) {
+        this.displayName = displayName;
+        this.maxWaitMinutes = maxWaitMinutes;
+        this.weightPercent = weightPercent;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public int getMaxWaitMinutes() {
+        return maxWaitMinutes;
+    }
+
+    /**
+     * Maximum wait in ticks (1,000 per simulated hour, see HospitalEventSimulation)
+     */
+    public long getMaxWaitTicks() {
+        return maxWaitMinutes * HospitalEventSimulation.TICKS_PER_HOUR / 60;
+    }
+
+    /**
+     * Random severity with the typical emergency-department mix
+     */
+    public static Severity random(Random random) {
+        int roll = random.nextInt(100);
+        for (Severity severity : values()) {
+            roll -= severity.weightPercent;
+            if (roll < 0) {
+                return severity;
+            }
+        }
+        return NON_URGENT;
+    }
+}
@@ -1,5 +1,7 @@
 package scenario2;
 
+import logging.AsyncLogger;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +12,7 @@ import java.util.Map;
  * Ensures queues persist across shifts
  */
 public class ShiftManager {
+    private static final AsyncLogger LOG = AsyncLogger.shared();
 
     private final Map<Specialty, PatientQueue> queues;
     private List<Consultant> currentConsultants;
@@ -17,7 +20,7 @@ public class ShiftManager {
 
     // Time scale: 1 simulated hour = 1 real second
     // 12-hour shift = 12 seconds
-    private static final int SHIFT_DURATION_MS = 12000; // 12 seconds
+    static final int SHIFT_DURATION_MS = 12000; // 12 seconds (shared with event mode)
 
     public ShiftManager(Map<Specialty, PatientQueue> queues) {
         this.queues = queues;
@@ -40,6 +43,7 @@ public class ShiftManager {
      * Run a single shift
      */
     private void runShift(String shiftName, String[][] consultantNames) {
+        LOG.flush();
         System.out.println("\n" + "=".repeat(60));
         System.out.println("  " + shiftName + " - Starting");
         System.out.println("=".repeat(60));
@@ -90,6 +94,7 @@ public class ShiftManager {
      * End current shift gracefully
      */
     private void endShift(String shiftName) {
+        LOG.flush();
         System.out.println("\n" + "=".repeat(60));
         System.out.println("  " + shiftName + " - Ending");
         System.out.println("=".repeat(60));
@@ -113,7 +118,8 @@ public class ShiftManager {
             }
         }
 
-        // Display statistics
+        // Display statistics (after the consultants' last log lines)
+        LOG.flush();
         displayShiftSummary();
     }
 
@@ -145,9 +151,9 @@ public class ShiftManager {
     }
 
     /**
-     * Get day shift consultant names
+     * Get day shift consultant names (one row per specialty, in Specialty order)
      */
-    private String[][] getDayShiftConsultants() {
+    static String[][] getDayShiftConsultants() {
         return new String[][] {
                 {"Dr. Smith"},      // Paediatrician
                 {"Dr. Johnson"},    // Surgeon
@@ -158,7 +164,7 @@ public class ShiftManager {
     /**
      * Get night shift consultant names
      */
-    private String[][] getNightShiftConsultants() {
+    static String[][] getNightShiftConsultants() {
         return new String[][] {
                 {"Dr. Brown"},      // Paediatrician
                 {"Dr. Davis"},      // Surgeon
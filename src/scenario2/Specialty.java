@@ -1,5 +1,7 @@
 package scenario2;
 
+import java.util.Random;
+
 /**
  * Enum representing medical specialties
  */
@@ -25,4 +27,12 @@ public enum Specialty {
         Specialty[] specialties = values();
         return specialties[(int) (Math.random() * specialties.length)];
     }
+
+    /**
+     * Get a random specialty from a seeded source (reproducible simulations)
+     */
+    public static Specialty random(Random random) {
+        Specialty[] specialties = values();
+        return specialties[random.nextInt(specialties.length)];
+    }
 }
\ No newline at end of file
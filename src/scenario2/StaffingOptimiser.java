@@ -0,0 +1,218 @@
+package scenario2;
+
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo staffing optimiser on top of the event-mode hospital
+ *
+ * For every arrival rate and staffing level (consultants per specialty per
+ * shift) it runs many seeded HospitalEventSimulation replicas in parallel
+ * (parallel stream, all cores) and reports waiting-time percentiles and
+ * utilisation as mean ± 95% confidence interval across replicas
+ *
+ * CHEAPEST ROSTER: specialties have separate queues and consultants, so
+ * each specialty gets the fewest consultants whose upper confidence bound
+ * on the target percentile is within the target
+ *
+ * COMMON RANDOM NUMBERS: replica r uses seed + r at every level, so levels
+ * are compared on the same arrival streams (less noise between them)
+ *
+ * Usage:
+ *   java scenario2.StaffingOptimiser --rates=1,8,16 --max-staff=4 --replicas=32
+ *        --days=28 --target-minutes=15 --target-percentile=90
+ */
+public class StaffingOptimiser {
+    private static final double Z_95 = 1.96;    // normal approximation, fine for 30+ replicas
+
+    private final int days;
+    private final int replicas;
+    private final long seed;
+    private final double targetPercentile;
+    private final double targetMinutes;
+    private boolean triage;
+
+    /**
+     * Constructor
+     * @param days Simulated days per replica
+     * @param replicas Independent runs per configuration
+     * @param targetPercentile Waiting-time percentile the target applies to (e.g. 90)
+     * @param targetMinutes Maximum acceptable wait at that percentile
+     */
+    public StaffingOptimiser(int days, int replicas, long seed, double targetPercentile, double targetMinutes) {
+        if (days <= 0 || replicas <= 1) {
+            throw new IllegalArgumentException("Need days > 0 and replicas > 1");
+        }
+        this.days = days;
+        this.replicas = replicas;
+        this.seed = seed;
+        this.targetPercentile = targetPercentile;
+        this.targetMinutes = targetMinutes;
+    }
+
+    /**
+     * Order queues by triage severity (the target then applies to all
+     * severities together)
+     */
+    public void setTriage(boolean triage) {
+        this.triage = triage;
+    }
+
+    /**
+     * Run all replicas of one configuration in parallel
+     * @return metrics[specialty][metric][replica]
+     */
+    public double[][][] runReplicas(double arrivalRate, int staffPerSpecialty) {
+        Specialty[] specialties = Specialty.values();
+        double[][][] metrics = new double[specialties.length][Metric.values().length][replicas];
+        String[][] roster = HospitalEventSimulation.uniformRoster(staffPerSpecialty);
+        // Each replica writes its own slots; forEach completes before results are read
+        IntStream.range(0, replicas).parallel().forEach(replica -> {
+            HospitalEventSimulation simulation = new HospitalEventSimulation(seed + replica);
+            simulation.setArrivalRate(arrivalRate);
+            simulation.setTriage(triage);
+            simulation.setRosters(roster, roster);
+            simulation.run(days);
+            for (Specialty specialty : specialties) {
+                WaitTimeStats waits = simulation.getWaitTimes(specialty);
+                double[][] row = metrics[specialty.ordinal()];
+                row[Metric.P50.ordinal()][replica] = HospitalEventSimulation.toMinutes(waits.getPercentile(50.0));
+                row[Metric.TARGET.ordinal()][replica] =
+                        HospitalEventSimulation.toMinutes(waits.getPercentile(targetPercentile));
+                row[Metric.P99.ordinal()][replica] = HospitalEventSimulation.toMinutes(waits.getPercentile(99.0));
+                row[Metric.UTILISATION.ordinal()][replica] = simulation.getUtilisation(specialty);
+                row[Metric.LEFT_WAITING.ordinal()][replica] = simulation.getQueueSize(specialty);
+            }
+        });
+        return metrics;
+    }
+
+    /**
+     * Sweep staffing levels 1..maxStaff at one arrival rate, print the table
+     * and the cheapest roster that meets the target
+     * @return consultants per specialty (Specialty order), 0 = target not met
+     */
+    public int[] optimise(double arrivalRate, int maxStaff) {
+        Specialty[] specialties = Specialty.values();
+        int[] cheapest = new int[specialties.length];
+
+        System.out.printf(Locale.ROOT, "%nArrival rate x%.2f%n", arrivalRate);
+        System.out.printf("%-14s %5s %8s %20s %8s %16s %8s  %s%n", "Specialty", "Staff", "p50 min",
+                String.format(Locale.ROOT, "p%s min (95%% CI)", formatPercentile(targetPercentile)),
+                "p99 min", "util (95% CI)", "left", "meets");
+        for (int staff = 1; staff <= maxStaff; staff++) {
+            double[][][] metrics = runReplicas(arrivalRate, staff);
+            for (Specialty specialty : specialties) {
+                double[][] row = metrics[specialty.ordinal()];
+                double[] target = meanAndHalfWidth(row[Metric.TARGET.ordinal()]);
+                double[] utilisation = meanAndHalfWidth(row[Metric.UTILISATION.ordinal()]);
+                boolean meets = target[0] + target[1] <= targetMinutes;
+                if (meets && cheapest[specialty.ordinal()] == 0) {
+                    cheapest[specialty.ordinal()] = staff;
+                }
+                System.out.printf(Locale.ROOT, "%-14s %5d %8.1f %11.1f ± %-6.1f %8.1f %8.0f%% ± %-4.1f %8.0f  %s%n",
+                        specialty.getDisplayName(), staff,
+                        meanAndHalfWidth(row[Metric.P50.ordinal()])[0],
+                        target[0], target[1],
+                        meanAndHalfWidth(row[Metric.P99.ordinal()])[0],
+                        utilisation[0] * 100, utilisation[1] * 100,
+                        meanAndHalfWidth(row[Metric.LEFT_WAITING.ordinal()])[0],
+                        meets ? "yes" : "no");
+            }
+        }
+
+        StringBuilder roster = new StringBuilder();
+        int total = 0;
+        boolean allMet = true;
+        for (Specialty specialty : specialties) {
+            int staff = cheapest[specialty.ordinal()];
+            if (roster.length() > 0) roster.append(", ");
+            roster.append(specialty.getDisplayName()).append(' ').append(staff == 0 ? ">" + maxStaff : staff);
+            total += staff;
+            allMet &= staff > 0;
+        }
+        System.out.println(allMet
+                ? "Cheapest roster: " + roster + " = " + total + " consultants per shift"
+                : "Target not met within " + maxStaff + " per specialty: " + roster);
+        return cheapest;
+    }
+
+    /**
+     * Sample mean and 95% confidence half-width
+     */
+    static double[] meanAndHalfWidth(double[] samples) {
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        double mean = sum / samples.length;
+        double squares = 0;
+        for (double sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+        double stdDev = Math.sqrt(squares / (samples.length - 1));
+        return new double[] {mean, Z_95 * stdDev / Math.sqrt(samples.length)};
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
+    }
+
+    /**
+     * Per-replica measurements
+     */
+    private enum Metric {
+        P50, TARGET, P99, UTILISATION, LEFT_WAITING
+    }
+
+    public static void main(String[] args) {
+        double[] rates = {1.0, 8.0, 16.0};
+        int maxStaff = 4;
+        int replicas = 32;
+        int days = 28;
+        long seed = 42;
+        double targetPercentile = 90;
+        double targetMinutes = 15;
+        boolean triage = false;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Options look like --name=value: " + arg);
+            }
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1).trim();
+            switch (key) {
+                case "rates":
+                    String[] parts = value.split(",");
+                    rates = new double[parts.length];
+                    for (int i = 0; i < parts.length; i++) {
+                        rates[i] = Double.parseDouble(parts[i].trim());
+                    }
+                    break;
+                case "max-staff": maxStaff = Integer.parseInt(value); break;
+                case "replicas": replicas = Integer.parseInt(value); break;
+                case "days": days = Integer.parseInt(value); break;
+                case "seed": seed = Long.parseLong(value); break;
+                case "target-percentile": targetPercentile = Double.parseDouble(value); break;
+                case "target-minutes": targetMinutes = Double.parseDouble(value); break;
+                case "triage": triage = Boolean.parseBoolean(value); break;
+                default: throw new IllegalArgumentException("Unknown option: --" + key);
+            }
+        }
+
+        StaffingOptimiser optimiser = new StaffingOptimiser(days, replicas, seed, targetPercentile, targetMinutes);
+        optimiser.setTriage(triage);
+        System.out.println("=".repeat(100));
+        System.out.printf(Locale.ROOT, "  STAFFING OPTIMISER - %d replicas x %d days, target p%s wait <= %.1f min, %d cores%n",
+                replicas, days, formatPercentile(targetPercentile), targetMinutes,
+                Runtime.getRuntime().availableProcessors());
+        System.out.println("=".repeat(100));
+        long start = System.nanoTime();
+        for (double rate : rates) {
+            optimiser.optimise(rate, maxStaff);
+        }
+        System.out.printf("%nCompleted in %,d ms%n", (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,77 @@
+package scenario2;
+
+import java.util.Arrays;
+
+/**
+ * Waiting times (arrival -> start of treatment) in ticks (event mode) or
+ * real-time milliseconds - the same unit, see HospitalEventSimulation
+ *
+ * Keeps every value (a simulated year is tens of thousands of patients),
+ * so percentiles are exact. Not thread-safe: one per simulation, or
+ * guarded by its owner (PatientQueue)
+ */
+public class WaitTimeStats {
+
+    private long[] values = new long[256];
+    private int count;
+    private long sum;
+    private boolean sorted = true;
+
+    public void record(long ticks) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = ticks;
+        sum += ticks;
+        sorted = false;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    public long getMax() {
+        return getPercentile(100.0);
+    }
+
+    /**
+     * Number of waits longer than a limit (e.g. a triage maximum)
+     */
+    public int countAbove(long ticks) {
+        int above = 0;
+        for (int i = 0; i < count; i++) {
+            if (values[i] > ticks) {
+                above++;
+            }
+        }
+        return above;
+    }
+
+    /**
+     * Append all values of another instance (e.g. merge per-queue stats)
+     */
+    public void addAll(WaitTimeStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.values[i]);
+        }
+    }
+
+    /**
+     * Value at a percentile (0-100), nearest rank
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(values, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(Math.min(100.0, percentile) / 100.0 * count);
+        return values[Math.max(1, rank) - 1];
+    }
+}